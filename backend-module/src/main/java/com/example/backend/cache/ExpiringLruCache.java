@@ -0,0 +1,109 @@
+package com.example.backend.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Cache em memória limitado por quantidade de entradas (LRU) e por tempo de vida.
+ *
+ * <p>Acessos são sincronizados em um {@link LinkedHashMap} em ordem de acesso; os contadores
+ * de acertos, falhas e remoções podem ser lidos sem bloqueio.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() < 0) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * Grava o valor somente se {@code replace} aceitar o valor atual (ou {@code null}, quando não
+     * há entrada válida) e o novo. A decisão e a gravação são atômicas.
+     */
+    public boolean putIf(K key, V value, BiPredicate<? super V, ? super V> replace) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            var current = entry == null || entry.expiresAt - System.nanoTime() < 0 ? null : entry.value;
+            if (!replace.test(current, value)) {
+                return false;
+            }
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            return true;
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configurações do cache de leitura de benefícios e das listas mantidas em memória
+ * ({@code benefit.cache.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "benefit.cache")
+public class BenefitCacheProperties {
+
+    /**
+     * Máximo de benefícios mantidos em memória.
+     */
+    private int size = 10_000;
+
+    /**
+     * Por quanto tempo um benefício lido continua válido no cache.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Intervalo entre recargas completas das listas em memória, que trazem as escritas feitas
+     * fora desta aplicação.
+     */
+    private Duration reloadInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,47 @@
+package com.example.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Réplica de leitura para as transações somente leitura ({@code benefit.datasource.replica.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "benefit.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * Quando desligado, todas as transações usam o datasource principal.
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    /**
+     * Conexões no pool da réplica.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Atraso máximo da réplica. Acima dele, ou com a réplica inacessível, as leituras voltam ao
+     * principal até o atraso baixar. Deve ser maior que {@link #checkInterval}.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Intervalo entre as medições do atraso.
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,244 @@
+package com.example.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configurações do fluxo de transferência ({@code benefit.transfer.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "benefit.transfer")
+public class TransferProperties {
+
+    /**
+     * Estratégia usada para aplicar débito e crédito de uma transferência.
+     */
+    private TransferMode mode = TransferMode.ENTITY;
+
+    /**
+     * Motor de transferências com saldos em memória e um único escritor por shard
+     * ({@code benefit.transfer.engine.*}).
+     */
+    private Engine engine = new Engine();
+
+    /**
+     * Bloqueio em memória por benefício antes de abrir a transação ({@code benefit.transfer.lock.*}).
+     */
+    private Lock lock = new Lock();
+
+    /**
+     * Novas tentativas após conflito de concorrência ({@code benefit.transfer.retry.*}).
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * Benefícios cujo saldo é dividido em buckets para aliviar créditos concorrentes
+     * ({@code benefit.transfer.buckets.*}).
+     */
+    private Buckets buckets = new Buckets();
+
+    /**
+     * Registro das transferências gravado em segundo plano ({@code benefit.transfer.journal.*}).
+     */
+    private Journal journal = new Journal();
+
+    /**
+     * Transferências enviadas para processamento assíncrono ({@code benefit.transfer.async.*}).
+     */
+    private Async async = new Async();
+
+    /**
+     * Respostas guardadas por {@code Idempotency-Key} ({@code benefit.transfer.idempotency.*}).
+     */
+    private Idempotency idempotency = new Idempotency();
+
+    public enum TransferMode {
+        /**
+         * Lê as duas entidades, altera os saldos em memória e grava com controle otimista ({@code @Version}).
+         */
+        ENTITY,
+        /**
+         * Aplica débito e crédito com {@code UPDATE} condicional, decidindo pelo número de linhas afetadas.
+         */
+        CONDITIONAL_UPDATE
+    }
+
+    @Getter
+    @Setter
+    public static class Engine {
+
+        private boolean enabled = false;
+
+        /**
+         * Quantidade de shards; cada shard é atendido por uma única thread.
+         */
+        private int shards = 4;
+
+        /**
+         * Capacidade da fila de cada shard. Transferências acima do limite são recusadas.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Máximo de transferências aplicadas por transação em cada shard. Cada benefício do lote
+         * é gravado uma única vez, qualquer que seja o número de transferências que o envolvem.
+         */
+        private int maxBatchSize = 200;
+
+        /**
+         * Janela em que cada shard aguarda mais transferências antes de aplicar o lote.
+         */
+        private Duration linger = Duration.ZERO;
+
+        /**
+         * Tempo máximo que a requisição aguarda o resultado do shard.
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Lock {
+
+        private boolean enabled = true;
+
+        /**
+         * Quantidade de locks entre os quais os IDs de benefício são distribuídos.
+         */
+        private int stripes = 1024;
+
+        /**
+         * Tempo máximo de espera pelos locks antes de recusar a transferência.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Máximo de tentativas por transferência, incluindo a primeira.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Base do backoff. A espera antes da tentativa {@code n + 1} é sorteada entre zero e
+         * {@code baseDelay * 2^(n - 1)}, limitada por {@code maxDelay}.
+         */
+        private Duration baseDelay = Duration.ofMillis(20);
+
+        private Duration maxDelay = Duration.ofMillis(500);
+
+        /**
+         * Conflitos tolerados por benefício dentro de {@code budgetWindow}. Esgotado o limite,
+         * transferências do benefício são recusadas sem tentar. Zero desativa o limite.
+         */
+        private int conflictBudget = 50;
+
+        private Duration budgetWindow = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Buckets {
+
+        /**
+         * IDs dos benefícios que operam em modo bucketed.
+         */
+        private Set<Long> benefitIds = new HashSet<>();
+
+        /**
+         * Quantidade de buckets (sub-saldos) por benefício.
+         */
+        private int count = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Journal {
+
+        private boolean enabled = true;
+
+        /**
+         * Registros aguardando gravação. Com a fila cheia, quem registra aguarda espaço.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Máximo de registros gravados por transação.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Tentativas de gravar um lote antes de gravar os registros um a um.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Espera antes da tentativa {@code n + 1}: {@code retryDelay * n}.
+         */
+        private Duration retryDelay = Duration.ofMillis(200);
+
+        /**
+         * Arquivo NDJSON que recebe os registros que não puderam ser gravados no banco.
+         */
+        private Path deadLetterFile = Path.of("transfer-journal-dead-letter.ndjson");
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Threads que executam as transferências assíncronas.
+         */
+        private int threads = 16;
+
+        /**
+         * Transferências aguardando execução. Acima do limite, o envio é recusado.
+         */
+        private int queueCapacity = 1_000;
+
+        /**
+         * Por quanto tempo a situação de uma transferência concluída continua disponível para consulta.
+         */
+        private Duration retention = Duration.ofMinutes(10);
+
+        /**
+         * Máximo de situações mantidas em memória. Acima do limite, as menos consultadas são
+         * descartadas; deve ser bem maior que {@code threads + queueCapacity}, para que
+         * transferências ainda em andamento não sejam descartadas.
+         */
+        private int cacheSize = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        /**
+         * Máximo de respostas mantidas em memória.
+         */
+        private int cacheSize = 10_000;
+
+        /**
+         * Por quanto tempo uma chave continua válida.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * Intervalo entre as remoções dos registros expirados da tabela.
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+    }
+}
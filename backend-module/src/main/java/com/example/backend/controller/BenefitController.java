@@ -1,11 +1,19 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.benefit.BenefitPage;
 import com.example.backend.dto.benefit.BenefitRequest;
 import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitSuggestion;
+import com.example.backend.dto.transfer.BatchTransferRequest;
+import com.example.backend.dto.transfer.BatchTransferResponse;
 import com.example.backend.dto.transfer.TransferRequest;
 import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.dto.transfer.TransferStatusResponse;
 import com.example.backend.exception.ErrorResponse;
+import com.example.backend.service.AsyncTransferService;
+import com.example.backend.service.BenefitExportService;
 import com.example.backend.service.BenefitService;
+import com.example.backend.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +21,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @AllArgsConstructor
@@ -27,30 +42,126 @@ import java.util.List;
 @Tag(name = "Benefícios", description = "API para gerenciamento de benefícios de funcionários")
 public class BenefitController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final BenefitService benefitService;
+    private final BenefitExportService benefitExportService;
+    private final AsyncTransferService asyncTransferService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
     @Operation(summary = "Listar todos os benefícios",
-            description = "Retorna uma lista com todos os benefícios cadastrados no sistema (ativos e inativos)")
+            description = "Retorna os benefícios cadastrados no sistema (ativos e inativos), ordenados por ID. " +
+                    "Sem cursor nem limit, retorna a lista completa; com qualquer um deles, retorna uma página " +
+                    "e, quando há mais benefícios, o cursor da próxima vem no cabeçalho X-Next-Cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista retornada com success",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = BenefitResponse.class)))
+                            schema = @Schema(implementation = BenefitResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<BenefitResponse>> findAll() {
-        return ResponseEntity.ok(benefitService.findAll());
+    public ResponseEntity<List<BenefitResponse>> findAll(
+            @Parameter(description = "Cursor devolvido em X-Next-Cursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de benefícios na página (padrão 50 quando há cursor)",
+                    example = "50")
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return toPageResponse(benefitService.findAll(), "/api/beneficios", DEFAULT_PAGE_SIZE);
+        }
+        var pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        return toPageResponse(benefitService.findAll(cursor, pageSize), "/api/beneficios", pageSize);
     }
 
     @GetMapping("/ativos")
     @Operation(summary = "Listar benefícios ativos",
-            description = "Retorna uma lista com todos os benefícios ativos cadastrados no sistema")
+            description = "Retorna os benefícios ativos, ordenados por nome. " +
+                    "Sem cursor nem limit, retorna a lista completa; com qualquer um deles, retorna uma página " +
+                    "e, quando há mais benefícios, o cursor da próxima vem no cabeçalho X-Next-Cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista retornada com success",
                     content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BenefitResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<BenefitResponse>> findAllBenefitActives(
+            @Parameter(description = "Cursor devolvido em X-Next-Cursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de benefícios na página (padrão 50 quando há cursor)",
+                    example = "50")
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return toPageResponse(benefitService.findAllAtivos(), "/api/beneficios/ativos", DEFAULT_PAGE_SIZE);
+        }
+        var pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        return toPageResponse(benefitService.findAllAtivos(cursor, pageSize), "/api/beneficios/ativos", pageSize);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar benefícios por prefixo do nome",
+            description = "Retorna, em ordem alfabética, os benefícios cujo nome começa com o prefixo informado, " +
+                    "ignorando maiúsculas e acentos. Usado para autocompletar")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com success",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BenefitSuggestion.class))),
+            @ApiResponse(responseCode = "400", description = "Prefixo ou quantidade de resultados inválidos",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<BenefitSuggestion>> search(
+            @Parameter(description = "Início do nome do benefício", required = true, example = "vale")
+            @RequestParam String prefix,
+            @Parameter(description = "Quantidade máxima de resultados", example = "10")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Retornar apenas benefícios ativos", example = "false")
+            @RequestParam(defaultValue = "false") boolean ativos) {
+        return ResponseEntity.ok(benefitService.search(prefix, limit, ativos));
+    }
+
+    @GetMapping("/search/text")
+    @Operation(summary = "Buscar benefícios por palavras do nome e da descrição",
+            description = "Retorna os benefícios que contêm todas as palavras informadas no nome ou na descrição, " +
+                    "ignorando maiúsculas, acentos e stopwords, do mais para o menos relevante. " +
+                    "Palavras no nome pesam mais que na descrição")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com success",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BenefitResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Consulta ou quantidade de resultados inválidos",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<BenefitResponse>> searchText(
+            @Parameter(description = "Palavras buscadas no nome e na descrição", required = true, example = "refeição")
+            @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Retornar apenas benefícios ativos", example = "false")
+            @RequestParam(defaultValue = "false") boolean ativos) {
+        return ResponseEntity.ok(benefitService.searchText(q, limit, ativos));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os benefícios",
+            description = "Retorna todos os benefícios em NDJSON, um por linha, ordenados por ID. " +
+                    "As linhas são enviadas à medida que são lidas do banco")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação enviada com success",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
                             schema = @Schema(implementation = BenefitResponse.class)))
     })
-    public ResponseEntity<List<BenefitResponse>> findAllBenefitActives() {
-        return ResponseEntity.ok(benefitService.findAllAtivos());
+    public void exportAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        benefitExportService.exportAll(response.getOutputStream());
     }
 
     @GetMapping("/{id}")
@@ -60,14 +171,25 @@ public class BenefitController {
             @ApiResponse(responseCode = "200", description = "Benefício encontrado",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = BenefitResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Benefício inalterado desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Benefício não encontrado",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<BenefitResponse> findBenefitById(
             @Parameter(description = "ID do benefício", required = true, example = "1")
-            @PathVariable Long id) {
-        return ResponseEntity.ok(benefitService.findById(id));
+            @PathVariable Long id,
+            WebRequest request) {
+        // Com If-None-Match, o ETag é conferido pela versão e pelo valor, antes de montar a resposta.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(BenefitETags.of(benefitService.findVersionById(id)))) {
+            return null;
+        }
+
+        var benefit = benefitService.findById(id);
+        return ResponseEntity.ok()
+                .eTag(BenefitETags.of(benefit))
+                .body(benefit);
     }
 
     @PostMapping
@@ -151,9 +273,85 @@ public class BenefitController {
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<TransferResponse> transfer(
+            @Parameter(description = "Chave que identifica a transferência em novas tentativas do cliente")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Parameter(description = "Dados da transferência", required = true)
+            @Valid @RequestBody TransferRequest requestDTO) {
+
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(benefitService.transfer(requestDTO));
+        }
+
+        return ResponseEntity.ok(
+                idempotencyService.execute(idempotencyKey, requestDTO, claim -> benefitService.transfer(requestDTO, claim)));
+    }
+
+    @PostMapping("/transferir/lote")
+    @Operation(summary = "Transferir valores em lote",
+            description = "Aplica uma lista de transferências em uma única transação e retorna o resultado de cada item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BatchTransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BatchTransferResponse> transferBatch(
+            @Parameter(description = "Transferências do lote", required = true)
+            @Valid @RequestBody BatchTransferRequest requestDTO) {
+
+        return ResponseEntity.ok(benefitService.transferBatch(requestDTO));
+    }
+
+    @PostMapping("/transferir/async")
+    @Operation(summary = "Transferir value de forma assíncrona",
+            description = "Aceita a transferência para processamento em segundo plano e retorna o identificador para consulta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Transferência aceita para processamento",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Fila de transferências cheia",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TransferStatusResponse> transferAsync(
             @Parameter(description = "Dados da transferência", required = true)
             @Valid @RequestBody TransferRequest requestDTO) {
 
-        return ResponseEntity.ok(benefitService.transfer(requestDTO));
+        var status = asyncTransferService.submit(requestDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/beneficios/transferencias/" + status.getId()))
+                .body(status);
+    }
+
+    @GetMapping("/transferencias/{id}")
+    @Operation(summary = "Consultar transferência assíncrona",
+            description = "Retorna a situação e, quando concluída, o resultado de uma transferência assíncrona")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Situação da transferência",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Transferência não encontrada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TransferStatusResponse> findTransferStatus(
+            @Parameter(description = "Identificador da transferência", required = true)
+            @PathVariable String id) {
+        return ResponseEntity.ok(asyncTransferService.findStatus(id));
+    }
+
+    private ResponseEntity<List<BenefitResponse>> toPageResponse(BenefitPage page, String path, int limit) {
+        var response = ResponseEntity.ok().eTag(BenefitETags.of(page));
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            response.header(HttpHeaders.LINK,
+                    "<" + path + "?cursor=" + page.getNextCursor() + "&limit=" + limit + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
     }
 }
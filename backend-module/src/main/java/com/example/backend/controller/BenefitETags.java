@@ -0,0 +1,41 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.benefit.BenefitPage;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitVersion;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * ETags fortes das respostas de benefício.
+ *
+ * <p>Um benefício é identificado pela {@code version} e pelo valor: créditos em buckets mudam o
+ * saldo sem incrementar a versão da linha. Uma página usa um hash de 64 bits do ID, da versão e
+ * do valor de cada item e do cursor da próxima página.
+ */
+public class BenefitETags {
+
+    public static String of(BenefitResponse benefit) {
+        return of(benefit.getVersion(), benefit.getValue());
+    }
+
+    public static String of(BenefitVersion benefit) {
+        return of(benefit.version(), benefit.value());
+    }
+
+    public static String of(BenefitPage page) {
+        var hash = 17L;
+        for (var benefit : page.getItems()) {
+            hash = 31 * hash + benefit.getId();
+            hash = 31 * hash + Objects.hashCode(benefit.getVersion());
+            hash = 31 * hash + Objects.hashCode(benefit.getValue());
+        }
+        hash = 31 * hash + Objects.hashCode(page.getNextCursor());
+        return page.getItems().size() + "-" + Long.toHexString(hash);
+    }
+
+    private static String of(Long version, BigDecimal value) {
+        return version + "-" + value.toPlainString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia as transações {@code readOnly} para a réplica enquanto o {@link ReplicaLagMonitor} a
+ * considera utilizável; todo o resto usa o principal. Leituras que alimentam caches ou índices em
+ * memória não são marcadas como somente leitura, para que uma leitura atrasada não fique guardada.
+ *
+ * <p>A rota é decidida quando a conexão é obtida. Deve ficar atrás de um
+ * {@link LazyConnectionDataSourceProxy}: sem ele a conexão é aberta no início da transação, antes
+ * de ela ser marcada como somente leitura, e tudo iria para o principal.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReadReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryRoutes = routes(meterRegistry, Target.PRIMARY);
+        this.replicaRoutes = routes(meterRegistry, Target.REPLICA);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isReplicaUsable()) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("benefit.datasource.connections")
+                .tag("target", target.name().toLowerCase())
+                .description("Conexões obtidas por destino do roteamento")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.datasource;
+
+import com.example.backend.config.ReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o atraso da réplica de leitura e decide se ela pode atender leituras.
+ *
+ * <p>A cada {@code checkInterval} o horário atual é gravado na tabela {@code REPLICA_HEARTBEAT}
+ * do principal e o último valor replicado é lido da réplica; a diferença é o atraso. Com atraso
+ * acima de {@code maxLag}, ou com a réplica inacessível, ela deixa de ser usada até a próxima
+ * medição dentro do limite. Até a primeira medição as leituras vão para o principal.
+ *
+ * <p>A medição é arredondada para cima em múltiplos de {@code checkInterval}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String WRITE_HEARTBEAT = "UPDATE REPLICA_HEARTBEAT SET UPDATED_AT = ? WHERE ID = 1";
+    static final String READ_HEARTBEAT = "SELECT UPDATED_AT FROM REPLICA_HEARTBEAT WHERE ID = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(
+            DataSource primary,
+            DataSource replica,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this(primary, replica, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ReplicaLagMonitor(
+            DataSource primary,
+            DataSource replica,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("benefit.datasource.replica.lag", this, monitor -> monitor.lagMillis == Long.MAX_VALUE
+                        ? Double.NaN
+                        : monitor.lagMillis / 1000.0)
+                .baseUnit("seconds")
+                .description("Atraso medido da réplica de leitura")
+                .register(meterRegistry);
+        Gauge.builder("benefit.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("1 quando as leituras somente leitura podem ir para a réplica")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    void check() {
+        var now = clock.millis();
+        try {
+            primary.update(WRITE_HEARTBEAT, now);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao gravar o batimento da réplica no principal", e);
+        }
+
+        try {
+            var replicated = replica.queryForObject(READ_HEARTBEAT, Long.class);
+            lagMillis = replicated == null ? Long.MAX_VALUE : Math.max(0, now - replicated);
+        } catch (DataAccessException e) {
+            logger.debug("Falha ao ler o batimento da réplica", e);
+            lagMillis = Long.MAX_VALUE;
+        }
+
+        var usable = lagMillis <= properties.getMaxLag().toMillis();
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Réplica de leitura em uso, atraso={}ms", lagMillis);
+            } else {
+                logger.warn("Réplica de leitura fora de uso, leituras no principal. atraso={}ms, limite={}",
+                        lagMillis == Long.MAX_VALUE ? "desconhecido" : lagMillis, properties.getMaxLag());
+            }
+        }
+        replicaUsable = usable;
+    }
+}
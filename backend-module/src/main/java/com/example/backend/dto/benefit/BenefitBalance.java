@@ -0,0 +1,10 @@
+package com.example.backend.dto.benefit;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo, situação e versão de um benefício, lidos pelo {@code ShardedTransferEngine} para
+ * manter os saldos em memória.
+ */
+public record BenefitBalance(Long id, BigDecimal value, Boolean active, Long version) {
+}
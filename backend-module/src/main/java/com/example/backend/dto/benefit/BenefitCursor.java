@@ -0,0 +1,44 @@
+package com.example.backend.dto.benefit;
+
+import com.example.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem paginada por chave: o último benefício devolvido na página.
+ *
+ * <p>Trafega como um token opaco (Base64 URL-safe) para que o cliente apenas o repita na
+ * próxima requisição. Na listagem completa só o ID é usado; na de ativos, também o nome.
+ */
+public record BenefitCursor(Long id, String name) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static BenefitCursor of(BenefitResponse last, boolean withName) {
+        return new BenefitCursor(last.getId(), withName ? last.getName() : null);
+    }
+
+    public String encode() {
+        var raw = name == null ? String.valueOf(id) : id + ":" + name;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BenefitCursor decode(String token, boolean withName) {
+        try {
+            var raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            if (!withName) {
+                return new BenefitCursor(Long.parseLong(raw), null);
+            }
+
+            var separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new BenefitCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.dto.benefit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem de benefícios e o cursor da próxima, ausente na última página.
+ */
+@Getter
+@AllArgsConstructor
+public class BenefitPage {
+    private List<BenefitResponse> items;
+    private String nextCursor;
+}
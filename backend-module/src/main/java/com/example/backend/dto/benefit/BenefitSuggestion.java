@@ -0,0 +1,33 @@
+package com.example.backend.dto.benefit;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+@AllArgsConstructor
+@Getter
+@Schema(description = "Benefício encontrado pela busca por prefixo do nome")
+public class BenefitSuggestion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "ID único do benefício", example = "1")
+    private final Long id;
+
+    @Schema(description = "Nome do benefício", example = "Vale Refeição")
+    private final String name;
+
+    @Schema(description = "Indica se o benefício está active", example = "true")
+    private final Boolean active;
+
+    @Override
+    public String toString() {
+        return "BenefitSuggestion{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", active=" + active +
+                '}';
+    }
+}
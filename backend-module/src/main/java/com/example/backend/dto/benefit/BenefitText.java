@@ -0,0 +1,7 @@
+package com.example.backend.dto.benefit;
+
+/**
+ * Campos de um benefício indexados pela busca textual.
+ */
+public record BenefitText(Long id, String name, String description, Boolean active) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto.benefit;
+
+import java.math.BigDecimal;
+
+/**
+ * Versão e valor de um benefício: o suficiente para o ETag, sem montar a resposta completa.
+ */
+public record BenefitVersion(Long id, Long version, BigDecimal value) {
+}
@@ -0,0 +1,34 @@
+package com.example.backend.dto.transfer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Requisição para transferir valores entre benefícios em lote")
+public class BatchTransferRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Valid
+    @NotEmpty(message = "Informe ao menos uma transferência")
+    @Schema(description = "Transferências aplicadas na ordem informada, em uma única transação", required = true)
+    private List<TransferRequest> transfers;
+
+    @Override
+    public String toString() {
+        return "BatchTransferRequest{" +
+                "transfers=" + (transfers != null ? transfers.size() : 0) +
+                '}';
+    }
+}
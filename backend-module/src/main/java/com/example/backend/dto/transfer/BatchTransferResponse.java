@@ -0,0 +1,41 @@
+package com.example.backend.dto.transfer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Resultado de uma transferência em lote")
+public class BatchTransferResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Quantidade de transferências recebidas", example = "3")
+    private Integer total;
+
+    @Schema(description = "Quantidade de transferências aplicadas", example = "2")
+    private Integer succeeded;
+
+    @Schema(description = "Quantidade de transferências rejeitadas", example = "1")
+    private Integer failed;
+
+    @Schema(description = "Resultado de cada transferência, na mesma ordem da requisição")
+    private List<TransferResponse> results;
+
+    @Override
+    public String toString() {
+        return "BatchTransferResponse{" +
+                "total=" + total +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.dto.transfer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado interno de uma transferência aplicada dentro de um lote: a resposta,
+ * quando aplicada, ou a exceção de negócio que a rejeitou.
+ */
+@Getter
+@AllArgsConstructor
+public class TransferOutcome {
+    private TransferResponse response;
+    private RuntimeException error;
+
+    public static TransferOutcome success(TransferResponse response) {
+        return new TransferOutcome(response, null);
+    }
+
+    public static TransferOutcome failure(RuntimeException error) {
+        return new TransferOutcome(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public TransferResponse getResponseOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return response;
+    }
+}
@@ -5,14 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 @AllArgsConstructor
 public class TransferResult {
     private BenefitEntity origin;
     private BenefitEntity destination;
-    private BigDecimal previousBalanceSource;
-    private BigDecimal previousBalanceDestination;
+    /** Em centavos. */
+    private long previousBalanceSource;
+    /** Em centavos. */
+    private long previousBalanceDestination;
 }
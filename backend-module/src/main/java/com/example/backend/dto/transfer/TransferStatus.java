@@ -0,0 +1,8 @@
+package com.example.backend.dto.transfer;
+
+public enum TransferStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,47 @@
+package com.example.backend.dto.transfer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Situação de uma transferência enviada para processamento assíncrono")
+public class TransferStatusResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Identificador da transferência", example = "3f1c2a9e-8d47-4c7a-9d0b-6f2e5a1b7c90")
+    private String id;
+
+    @Schema(description = "Situação atual da transferência", example = "COMPLETED")
+    private TransferStatus status;
+
+    @Schema(description = "Mensagem de erro, quando a transferência falhou", example = "Benefício de origin está inativo")
+    private String message;
+
+    @Schema(description = "Resultado da transferência, quando concluída")
+    private TransferResponse result;
+
+    @Schema(description = "Data e hora do envio da transferência")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Data e hora da conclusão da transferência")
+    private LocalDateTime completedAt;
+
+    @Override
+    public String toString() {
+        return "TransferStatusResponse{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Sub-saldo de um benefício em modo bucketed. Os créditos são espalhados entre os buckets
+ * para não disputarem a mesma linha de {@link BenefitEntity}.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "BENEFICIO_BUCKET",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"BENEFICIO_ID", "BUCKET"}))
+public class BenefitBucketEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BENEFICIO_ID", nullable = false)
+    private Long benefitId;
+
+    @Column(name = "BUCKET", nullable = false)
+    private Integer bucket;
+
+    @Column(name = "VALOR", nullable = false, precision = 15, scale = 2)
+    private BigDecimal value;
+
+    public BenefitBucketEntity(Long benefitId, Integer bucket, BigDecimal value) {
+        this.benefitId = benefitId;
+        this.bucket = bucket;
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return "BeneficioBucket[" +
+                "benefitId=" + benefitId +
+                ", bucket=" + bucket +
+                ", value=" + value +
+                ']';
+    }
+}
@@ -8,6 +8,8 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -17,10 +19,22 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@Table(name = "BENEFICIO",
+        uniqueConstraints = @UniqueConstraint(name = BenefitEntity.UNIQUE_NAME_CONSTRAINT, columnNames = "NOME"),
+        indexes = @Index(name = "IDX_BENEFICIO_ATIVO_NOME", columnList = "ATIVO, NOME"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BenefitEntity.CACHE_REGION)
 public class BenefitEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String CACHE_REGION = "benefit";
+
+    /**
+     * Constraint de nome único criada pela migration {@code V3__beneficio_indexes.sql}.
+     */
+    public static final String UNIQUE_NAME_CONSTRAINT = "UK_BENEFICIO_NOME";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ID")
@@ -37,9 +51,17 @@ public class BenefitEntity implements Serializable {
 
     @NotNull(message = "Valor é obrigatório")
     @DecimalMin(value = "0.0", inclusive = true, message = "Valor deve ser maior ou igual a 0")
-    @Column(name = "VALOR", nullable = false, precision = 10, scale = 2)
+    @Column(name = "VALOR", nullable = false, precision = 15, scale = 2)
     private BigDecimal value;
 
+    /**
+     * Saldo ainda distribuído nos buckets do benefício, quando ele opera em modo bucketed. Não é
+     * lido com a entidade: só as transferências o carregam, e só para benefícios bucketed
+     * ({@code BenefitBucketService.loadPending}). Fica {@code null} enquanto não carregado.
+     */
+    @Transient
+    private BigDecimal pendingValue;
+
     @Column(name = "ATIVO", nullable = false)
     private Boolean active = true;
 
@@ -60,6 +82,16 @@ public class BenefitEntity implements Serializable {
         this.active = true;
     }
 
+    /**
+     * Saldo total do benefício: o valor da linha principal somado ao que está nos buckets.
+     */
+    public BigDecimal getTotalValue() {
+        if (value == null || pendingValue == null) {
+            return value;
+        }
+        return value.add(pendingValue);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
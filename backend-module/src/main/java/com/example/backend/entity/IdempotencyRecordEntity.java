@@ -0,0 +1,79 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Resposta de uma transferência já executada, guardada pela {@code Idempotency-Key} enviada
+ * pelo cliente.
+ *
+ * <p>A chave é atribuída pelo cliente, então o registro se declara novo até ser gravado ou lido:
+ * assim {@code save} faz um {@code INSERT}, e uma chave repetida viola a chave primária em vez de
+ * sobrescrever o registro existente.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "TRANSFERENCIA_IDEMPOTENCIA")
+public class IdempotencyRecordEntity implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "CHAVE", length = 100)
+    private String key;
+
+    @Column(name = "REQUISICAO", nullable = false, length = 200)
+    private String requestFingerprint;
+
+    @Column(name = "RESPOSTA", nullable = false, length = 4000)
+    private String response;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+
+    public IdempotencyRecordEntity(
+            String key, String requestFingerprint, String response, LocalDateTime createdAt) {
+        this.key = key;
+        this.requestFingerprint = requestFingerprint;
+        this.response = response;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferenciaIdempotencia[" +
+                "key='" + key + '\'' +
+                ", createdAt=" + createdAt +
+                ']';
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Registro imutável de uma transferência realizada.
+ *
+ * <p>O ID vem de uma sequence com alocação em bloco para que o Hibernate consiga agrupar
+ * os inserts em lotes JDBC, o que não acontece com {@code IDENTITY}.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "TRANSFERENCIA")
+public class TransferJournalEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferenciaSeq")
+    @SequenceGenerator(name = "transferenciaSeq", sequenceName = "TRANSFERENCIA_SEQ", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BENEFICIO_ORIGEM_ID", nullable = false, updatable = false)
+    private Long benefitOriginId;
+
+    @Column(name = "BENEFICIO_DESTINO_ID", nullable = false, updatable = false)
+    private Long benefitDestinationId;
+
+    @Column(name = "VALOR", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal value;
+
+    @Column(name = "SALDO_ANTERIOR_ORIGEM", updatable = false, precision = 15, scale = 2)
+    private BigDecimal previousBalanceSource;
+
+    @Column(name = "SALDO_NOVO_ORIGEM", updatable = false, precision = 15, scale = 2)
+    private BigDecimal newBalanceOrigin;
+
+    @Column(name = "SALDO_ANTERIOR_DESTINO", updatable = false, precision = 15, scale = 2)
+    private BigDecimal previousBalanceDestination;
+
+    @Column(name = "SALDO_NOVO_DESTINO", updatable = false, precision = 15, scale = 2)
+    private BigDecimal newDestinationBalance;
+
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime timestamp;
+
+    @Override
+    public String toString() {
+        return "Transferencia[" +
+                "id=" + id +
+                ", benefitOriginId=" + benefitOriginId +
+                ", benefitDestinationId=" + benefitDestinationId +
+                ", value=" + value +
+                ", timestamp=" + timestamp +
+                ']';
+    }
+}
@@ -21,11 +21,21 @@ public class HttpErrorExceptionHandler {
         return buildErrorResponse(NOT_FOUND, e.getMessage());
     }
 
+    @ExceptionHandler(TransferNotFoundException.class)
+    public ResponseEntity<ApiError> notFound(TransferNotFoundException e) {
+        return buildErrorResponse(NOT_FOUND, e.getMessage());
+    }
+
     @ExceptionHandler(BenefitConflictException.class)
     public ResponseEntity<ApiError> forbidden(BenefitConflictException e) {
         return buildErrorResponse(FORBIDDEN, e.getMessage());
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiError> serviceUnavailable(ServiceOverloadedException e) {
+        return buildErrorResponse(SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
     private ResponseEntity<ApiError> buildErrorResponse(HttpStatus status, String message) {
         var error = new ApiError(status.value(), message, now().toEpochMilli());
         return ResponseEntity.status(status).body(error);
@@ -0,0 +1,7 @@
+package com.example.backend.exception;
+
+public class TransferNotFoundException extends RuntimeException {
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -17,7 +17,7 @@ public class BenefitMapper {
                 benefitEntity.getId(),
                 benefitEntity.getName(),
                 benefitEntity.getDescription(),
-                benefitEntity.getValue(),
+                benefitEntity.getTotalValue(),
                 benefitEntity.getActive(),
                 benefitEntity.getVersion()
         );
@@ -3,6 +3,8 @@ package com.example.backend.mapper;
 import com.example.backend.dto.transaction.TransactionalRequest;
 import com.example.backend.dto.transfer.TransferRequest;
 import com.example.backend.dto.transfer.TransferResult;
+import com.example.backend.entity.TransferJournalEntity;
+import com.example.backend.money.Money;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -17,11 +19,49 @@ public class TransferMapper {
                 transferRequest.getBenefitOriginId(),
                 transferRequest.getBenefitDestinationId(),
                 transferRequest.getValue(),
-                transferResult.getPreviousBalanceSource(),
-                transferResult.getOrigin().getValue(),
-                transferResult.getPreviousBalanceDestination(),
-                transferResult.getDestination().getValue(),
+                Money.toBigDecimal(transferResult.getPreviousBalanceSource()),
+                transferResult.getOrigin().getTotalValue(),
+                Money.toBigDecimal(transferResult.getPreviousBalanceDestination()),
+                transferResult.getDestination().getTotalValue(),
                 LocalDateTime.now()
         );
     }
+
+    /**
+     * Para saldos calculados fora das entidades, como os do {@code ShardedTransferEngine}, em
+     * centavos.
+     */
+    public TransactionalRequest toTransaction(
+            TransferRequest transferRequest,
+            long previousBalanceSource,
+            long newBalanceOrigin,
+            long previousBalanceDestination,
+            long newDestinationBalance) {
+
+        return new TransactionalRequest(
+                transferRequest.getBenefitOriginId(),
+                transferRequest.getBenefitDestinationId(),
+                transferRequest.getValue(),
+                Money.toBigDecimal(previousBalanceSource),
+                Money.toBigDecimal(newBalanceOrigin),
+                Money.toBigDecimal(previousBalanceDestination),
+                Money.toBigDecimal(newDestinationBalance),
+                LocalDateTime.now()
+        );
+    }
+
+    public TransferJournalEntity toJournalEntry(TransactionalRequest transaction) {
+        var entry = new TransferJournalEntity();
+
+        entry.setBenefitOriginId(transaction.getBenefitOriginId());
+        entry.setBenefitDestinationId(transaction.getBenefitDestinationId());
+        entry.setValue(transaction.getValue());
+        entry.setPreviousBalanceSource(transaction.getPreviousBalanceSource());
+        entry.setNewBalanceOrigin(transaction.getNewBalanceOrigin());
+        entry.setPreviousBalanceDestination(transaction.getPreviousBalanceDestination());
+        entry.setNewDestinationBalance(transaction.getNewDestinationBalance());
+        entry.setTimestamp(transaction.getTimestamp());
+
+        return entry;
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.backend.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversões entre {@link BigDecimal} e valores monetários em centavos ({@code long}).
+ *
+ * <p>As regras de transferência fazem a aritmética diretamente em {@code long}, com
+ * {@link Math#addExact} e {@link Math#subtractExact}, sem alocar objetos. A conversão acontece
+ * apenas nas bordas: ao ler e gravar entidades e ao montar as respostas.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converte um {@link BigDecimal} com até duas casas decimais em centavos. Valores com mais
+     * casas lançam {@link ArithmeticException}.
+     *
+     * <p>O {@link BigDecimal} intermediário não escapa do método e é eliminado pelo JIT quando a
+     * chamada é compilada em linha.
+     */
+    public static long cents(BigDecimal value) {
+        return value == null ? 0 : value.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Indica se o valor pode ser representado sem arredondamento.
+     */
+    public static boolean isRepresentable(BigDecimal value) {
+        return value.scale() <= SCALE || value.stripTrailingZeros().scale() <= SCALE;
+    }
+
+    /**
+     * Formata com ponto decimal e duas casas, sem depender do {@code Locale}.
+     */
+    public static String format(long cents) {
+        var units = cents / CENTS_PER_UNIT;
+        var remainder = Math.abs(cents % CENTS_PER_UNIT);
+        var sign = cents < 0 && units == 0 ? "-" : "";
+        return sign + units + (remainder < 10 ? ".0" : ".") + remainder;
+    }
+}
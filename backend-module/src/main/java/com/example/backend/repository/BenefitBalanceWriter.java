@@ -0,0 +1,19 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.benefit.BenefitBalance;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gravação em lote de saldos calculados fora do contexto de persistência, usada pelo
+ * {@code ShardedTransferEngine}. Implementada em {@link BenefitBalanceWriterImpl}.
+ */
+public interface BenefitBalanceWriter {
+
+    /**
+     * Grava, em um único lote JDBC na transação atual, cada saldo cuja linha ainda esteja na versão
+     * informada, incrementando a versão. Retorna os IDs das linhas que não estavam mais nessa versão.
+     */
+    Set<Long> updateBalancesIfVersion(List<BenefitBalance> balances);
+}
@@ -0,0 +1,69 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.benefit.BenefitBalance;
+import com.example.backend.entity.BenefitEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Atualiza os saldos direto por JDBC, em um lote só, sem carregar entidades nem interpretar HQL a
+ * cada linha. Como o Hibernate não vê essas escritas, as entradas dos benefícios no cache de
+ * segundo nível e os resultados de consultas em cache são descartados antes da gravação e de novo
+ * após o commit, como o Hibernate faz em atualizações em massa.
+ */
+class BenefitBalanceWriterImpl implements BenefitBalanceWriter {
+
+    static final String UPDATE_BALANCE = "UPDATE BENEFICIO SET VALOR = ?, VERSION = VERSION + 1, UPDATED_AT = ? " +
+            "WHERE ID = ? AND VERSION = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+
+    BenefitBalanceWriterImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @Override
+    public Set<Long> updateBalancesIfVersion(List<BenefitBalance> balances) {
+        evict(balances);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(balances);
+                }
+            });
+        }
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        var counts = jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances, balances.size(), (statement, balance) -> {
+            statement.setBigDecimal(1, balance.value());
+            statement.setTimestamp(2, now);
+            statement.setLong(3, balance.id());
+            statement.setLong(4, balance.version());
+        });
+
+        var conflicts = new TreeSet<Long>();
+        for (int i = 0; i < balances.size(); i++) {
+            if (counts[0][i] == 0) {
+                conflicts.add(balances.get(i).id());
+            }
+        }
+        return conflicts;
+    }
+
+    private void evict(List<BenefitBalance> balances) {
+        balances.forEach(balance -> cache.evictEntityData(BenefitEntity.class, balance.id()));
+        cache.evictDefaultQueryRegion();
+    }
+}
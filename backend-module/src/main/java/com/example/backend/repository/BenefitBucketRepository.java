@@ -0,0 +1,36 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.BenefitBucketEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BenefitBucketRepository extends JpaRepository<BenefitBucketEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bb FROM BenefitBucketEntity bb WHERE bb.benefitId = :benefitId ORDER BY bb.bucket")
+    List<BenefitBucketEntity> findAllByBenefitIdForUpdate(Long benefitId);
+
+    @Query("SELECT bb.bucket FROM BenefitBucketEntity bb WHERE bb.benefitId = :benefitId")
+    List<Integer> findBucketsByBenefitId(Long benefitId);
+
+    @Query("SELECT COALESCE(SUM(bb.value), 0) FROM BenefitBucketEntity bb WHERE bb.benefitId = :benefitId")
+    BigDecimal sumByBenefitId(Long benefitId);
+
+    /**
+     * Credita o bucket se ele existe e o benefício está ativo, sem bloquear a linha do benefício.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BenefitBucketEntity bb SET bb.value = bb.value + :value " +
+            "WHERE bb.benefitId = :benefitId AND bb.bucket = :bucket " +
+            "AND EXISTS (SELECT 1 FROM BenefitEntity b WHERE b.id = :benefitId AND b.active = true)")
+    int creditIfActive(Long benefitId, Integer bucket, BigDecimal value);
+
+}
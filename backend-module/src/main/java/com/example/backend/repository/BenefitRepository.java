@@ -1,25 +1,104 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.benefit.BenefitBalance;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitSuggestion;
+import com.example.backend.dto.benefit.BenefitText;
+import com.example.backend.dto.benefit.BenefitVersion;
 import com.example.backend.entity.BenefitEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.AvailableHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.AvailableHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.AvailableHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.AvailableHints.HINT_READ_ONLY;
 
 @Repository
-public interface BenefitRepository extends JpaRepository<BenefitEntity, Long> {
+public interface BenefitRepository extends JpaRepository<BenefitEntity, Long>, BenefitBalanceWriter {
+
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Monta o {@link BenefitResponse} direto das colunas, sem hidratar nem registrar entidades no
+     * contexto de persistência. O valor é o da linha principal; o saldo distribuído nos buckets é
+     * somado depois, só para benefícios bucketed ({@code BenefitBucketService.withPending}).
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.example.backend.dto.benefit.BenefitResponse(" +
+            "b.id, b.name, b.description, b.value, b.active, b.version, b.createdAt, b.updatedAt) " +
+            "FROM BenefitEntity b ";
+
+    @Query(RESPONSE_PROJECTION + "WHERE b.id = :id")
+    Optional<BenefitResponse> findResponseById(Long id);
+
+    @Query("SELECT new com.example.backend.dto.benefit.BenefitVersion(b.id, b.version, b.value) " +
+            "FROM BenefitEntity b WHERE b.id = :id")
+    Optional<BenefitVersion> findVersionById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BenefitResponse> findPageAfterId(Long afterId, Limit limit);
 
-    @Query("SELECT b FROM BenefitEntity b WHERE b.active = true ORDER BY b.name")
-    List<BenefitEntity> findAllAtivos();
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM BenefitEntity b ORDER BY b.id")
+    Stream<BenefitEntity> streamAll();
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT new com.example.backend.dto.benefit.BenefitText(b.id, b.name, b.description, b.active) " +
+            "FROM BenefitEntity b ORDER BY b.id")
+    Stream<BenefitText> streamAllTexts();
+
+    /**
+     * Sem cache de consulta: a recarga da {@code ActiveBenefitSnapshot} existe justamente para ver
+     * escritas que o Hibernate desta instância não conhece.
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE b.active = true ORDER BY b.name, b.id")
+    List<BenefitResponse> findAllActive();
+
+    @Query(RESPONSE_PROJECTION + "WHERE b.id IN :ids")
+    List<BenefitResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.example.backend.dto.benefit.BenefitSuggestion(b.id, b.name, b.active) FROM BenefitEntity b")
+    List<BenefitSuggestion> findAllSuggestions();
+
+    @Query("SELECT new com.example.backend.dto.benefit.BenefitBalance(b.id, b.value, b.active, b.version) " +
+            "FROM BenefitEntity b WHERE b.id IN :ids")
+    List<BenefitBalance> findBalancesByIdIn(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM BenefitEntity b WHERE b.id = :id AND b.active = true")
-    Optional<BenefitEntity> findByIdAndActive(Long id);
+    Optional<BenefitEntity> findActiveByIdForUpdate(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BenefitEntity b WHERE b.id IN :ids ORDER BY b.id")
+    List<BenefitEntity> findAllByIdInForUpdate(Collection<Long> ids);
 
-    boolean existsByName(String name);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BenefitEntity b SET b.value = b.value - :value, b.version = b.version + 1, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.active = true AND b.value >= :value")
+    int debitIfSufficient(Long id, BigDecimal value, LocalDateTime now);
 
-    @Query("SELECT COUNT(b) > 0 FROM BenefitEntity b WHERE b.name = :name AND b.id <> :id")
-    boolean existsByNameAndIdNot(String name, Long id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BenefitEntity b SET b.value = b.value + :value, b.version = b.version + 1, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.active = true")
+    int creditIfActive(Long id, BigDecimal value, LocalDateTime now);
 
 }
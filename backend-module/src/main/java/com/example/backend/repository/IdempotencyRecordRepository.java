@@ -0,0 +1,26 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+
+    /**
+     * Remove o registro da chave se ele já expirou, liberando a chave para uma nova transferência.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecordEntity r WHERE r.key = :key AND r.createdAt < :limit")
+    int deleteExpired(String key, LocalDateTime limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecordEntity r WHERE r.createdAt < :limit")
+    int deleteAllExpired(LocalDateTime limit);
+}
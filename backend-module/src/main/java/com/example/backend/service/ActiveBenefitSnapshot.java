@@ -0,0 +1,207 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.repository.BenefitRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lista em memória dos benefícios ativos, ordenada por nome e ID, usada pela listagem de ativos.
+ *
+ * <p>Leitores recebem uma lista imutável publicada em um campo {@code volatile}, sem lock e sem
+ * consulta ao banco. Após o commit de cada escrita os IDs afetados são marcados e uma única
+ * thread os relê em uma consulta, aplica as mudanças sobre uma cópia e publica a nova lista.
+ * Escritas próximas são agrupadas na mesma releitura. Uma releitura que falha é reagendada com
+ * espera crescente, sem perder os IDs marcados.
+ *
+ * <p>A cada {@code benefit.cache.reload-interval} a lista inteira é recarregada do banco, o que
+ * traz as escritas feitas fora desta aplicação (outra instância, alteração direta no banco).
+ */
+@Component
+public class ActiveBenefitSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveBenefitSnapshot.class);
+
+    static final Comparator<BenefitResponse> ORDER =
+            Comparator.comparing(BenefitResponse::getName).thenComparing(BenefitResponse::getId);
+
+    static final long RETRY_BASE_DELAY_MILLIS = 100;
+    static final long RETRY_MAX_DELAY_MILLIS = 30_000;
+
+    private final BenefitRepository benefitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reloadInterval;
+    private final ScheduledExecutorService refresher;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final Map<Long, BenefitResponse> index = new HashMap<>();
+    private volatile List<BenefitResponse> active;
+
+    /**
+     * Releituras seguidas que falharam; acessado só pela thread de atualização.
+     */
+    private int failures;
+
+    public ActiveBenefitSnapshot(
+            BenefitRepository benefitRepository,
+            PlatformTransactionManager transactionManager,
+            BenefitCacheProperties properties) {
+        this.benefitRepository = benefitRepository;
+        this.reloadInterval = properties.getReloadInterval();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Não é somente leitura de propósito: com réplica de leitura ativa, a releitura logo após
+        // o commit iria para a réplica e poderia publicar a versão anterior à escrita.
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "active-benefit-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        current();
+        refresher.scheduleWithFixedDelay(
+                this::reload, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Benefícios ativos, ordenados por nome e ID. A lista não muda depois de publicada.
+     */
+    public List<BenefitResponse> current() {
+        var snapshot = active;
+        return snapshot != null ? snapshot : load();
+    }
+
+    /**
+     * Até {@code limit} benefícios ativos posteriores a ({@code name}, {@code id}) na ordenação,
+     * ou do início quando {@code id} é {@code null}.
+     */
+    public List<BenefitResponse> pageAfter(String name, Long id, int limit) {
+        var snapshot = current();
+        var from = 0;
+        if (id != null) {
+            var position = Collections.binarySearch(snapshot, new BenefitResponse(id, name, null, null, true, null), ORDER);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return snapshot.subList(from, Math.min(from + limit, snapshot.size()));
+    }
+
+    /**
+     * Agenda a releitura dos benefícios para depois do commit da transação atual, ou
+     * imediatamente quando não há transação.
+     */
+    public void refreshAfterCommit(Collection<Long> ids) {
+        AfterCommit.run(() -> markDirty(ids));
+    }
+
+    private void markDirty(Collection<Long> ids) {
+        dirty.addAll(ids);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        refreshScheduled.set(false);
+
+        var ids = new ArrayList<Long>();
+        for (var iterator = dirty.iterator(); iterator.hasNext(); ) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            apply(ids, transactionTemplate.execute(status -> benefitRepository.findResponsesByIdIn(ids)));
+            failures = 0;
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);
+            var delay = Math.min(RETRY_MAX_DELAY_MILLIS, RETRY_BASE_DELAY_MILLIS << Math.min(failures++, 16));
+            logger.warn("Falha ao atualizar a lista de benefícios ativos, ids={}, nova tentativa em {} ms",
+                    ids, delay, e);
+            if (refreshScheduled.compareAndSet(false, true)) {
+                refresher.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Recarrega a lista inteira. Roda na mesma thread das releituras, então uma escrita marcada
+     * durante a recarga ainda é relida depois dela.
+     */
+    private void reload() {
+        try {
+            replace(transactionTemplate.execute(status -> benefitRepository.findAllActive()));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao recarregar a lista de benefícios ativos", e);
+        }
+    }
+
+    private synchronized List<BenefitResponse> load() {
+        if (active == null) {
+            replace(transactionTemplate.execute(status -> benefitRepository.findAllActive()));
+        }
+        return active;
+    }
+
+    private synchronized void replace(List<BenefitResponse> rows) {
+        var sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+        index.clear();
+        sorted.forEach(row -> index.put(row.getId(), row));
+        active = Collections.unmodifiableList(sorted);
+    }
+
+    private synchronized void apply(Collection<Long> ids, List<BenefitResponse> rows) {
+        if (active == null) {
+            return;
+        }
+
+        var updated = new ArrayList<>(active);
+        for (var id : ids) {
+            var previous = index.remove(id);
+            if (previous != null) {
+                updated.remove(Collections.binarySearch(updated, previous, ORDER));
+            }
+        }
+        for (var row : rows) {
+            if (Boolean.TRUE.equals(row.getActive())) {
+                index.put(row.getId(), row);
+                updated.add(-Collections.binarySearch(updated, row, ORDER) - 1, row);
+            }
+        }
+        active = Collections.unmodifiableList(updated);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia para depois do commit as atualizações de estruturas em memória (listas, índices, fila do
+ * diário), para que uma transação desfeita não deixe rastro nelas.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Executa {@code action} depois do commit da transação atual, ou imediatamente quando não há
+     * transação. Não executa se a transação for desfeita.
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.backend.service;
+
+import com.example.backend.cache.ExpiringLruCache;
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.dto.transfer.TransferStatus;
+import com.example.backend.dto.transfer.TransferStatusResponse;
+import com.example.backend.exception.ServiceOverloadedException;
+import com.example.backend.exception.TransferNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.backend.validation.TransferValidator.validateTransferencia;
+
+/**
+ * Executa transferências fora da thread da requisição.
+ *
+ * <p>O envio retorna imediatamente um identificador; a transferência passa pelo mesmo
+ * {@link BenefitService#transfer} do fluxo síncrono em um pool limitado, e a situação fica
+ * disponível para consulta até {@code retention} depois da última mudança. Com a fila cheia o
+ * envio é recusado, para que picos não acumulem trabalho sem limite.
+ *
+ * <p>As situações ficam em um {@link ExpiringLruCache} limitado a {@code cacheSize} entradas, de
+ * modo que muitos envios em pouco tempo não fazem a memória crescer sem limite.
+ */
+@Service
+public class AsyncTransferService {
+
+    private final BenefitService benefitService;
+    private final TransferProperties.Async properties;
+    private final ThreadPoolExecutor executor;
+    private final ExpiringLruCache<String, TransferStatusResponse> statuses;
+
+    public AsyncTransferService(BenefitService benefitService, TransferProperties transferProperties) {
+        this.benefitService = benefitService;
+        this.properties = transferProperties.getAsync();
+        this.statuses = new ExpiringLruCache<>(properties.getCacheSize(), properties.getRetention());
+
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    var thread = new Thread(runnable, "transfer-async-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public TransferStatusResponse submit(TransferRequest transferRequest) {
+        validateTransferencia(transferRequest);
+
+        var id = UUID.randomUUID().toString();
+        var status = new TransferStatusResponse(id, TransferStatus.PENDING, null, null, LocalDateTime.now(), null);
+        statuses.put(id, status);
+
+        try {
+            executor.execute(() -> run(id, transferRequest));
+        } catch (RejectedExecutionException e) {
+            statuses.remove(id);
+            throw new ServiceOverloadedException("Fila de transferências cheia, tente novamente em instantes");
+        }
+
+        return status;
+    }
+
+    public TransferStatusResponse findStatus(String id) {
+        var status = statuses.get(id);
+        if (status == null) {
+            throw new TransferNotFoundException("Transferência não encontrada: " + id);
+        }
+        return status;
+    }
+
+    private void run(String id, TransferRequest transferRequest) {
+        update(id, TransferStatus.PROCESSING, null, null);
+        try {
+            TransferResponse result = benefitService.transfer(transferRequest);
+            update(id, TransferStatus.COMPLETED, result.getMessage(), result);
+        } catch (RuntimeException e) {
+            update(id, TransferStatus.FAILED, e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Só substitui uma situação ainda presente; se ela já foi descartada, a atualização também é.
+     */
+    private void update(String id, TransferStatus newStatus, String message, TransferResponse result) {
+        var current = statuses.get(id);
+        if (current == null) {
+            return;
+        }
+        var updated = new TransferStatusResponse(
+                id,
+                newStatus,
+                message,
+                result,
+                current.getSubmittedAt(),
+                newStatus == TransferStatus.COMPLETED || newStatus == TransferStatus.FAILED
+                        ? LocalDateTime.now()
+                        : null
+        );
+        statuses.putIf(id, updated, (present, candidate) -> present != null);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitVersion;
+import com.example.backend.entity.BenefitBucketEntity;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.money.Money;
+import com.example.backend.repository.BenefitBucketRepository;
+import com.example.backend.repository.BenefitRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Saldo em buckets para benefícios que recebem muitos créditos simultâneos.
+ *
+ * <p>Os créditos vão para um dos {@code count} sub-saldos, escolhido pelo hash do benefício
+ * de origem, com um {@code UPDATE} atômico que não toca a linha principal. Os débitos usam a
+ * linha principal e só recolhem os buckets para ela quando o saldo principal não basta.
+ *
+ * <p>O saldo dos buckets não faz parte da entidade nem das projeções: é somado só para os
+ * benefícios bucketed, por {@link #loadPending} e {@link #withPending}, e os demais benefícios
+ * não pagam nenhuma consulta a mais.
+ *
+ * <p>Como o crédito não toca a linha principal, a {@code VERSION} do benefício não muda, e o
+ * cache de segundo nível da entidade continua válido. Já o {@link BenefitCache} guarda o valor
+ * com os buckets somados: cada crédito invalida o benefício nele.
+ */
+@Service
+@Transactional
+public class BenefitBucketService {
+
+    private final BenefitBucketRepository benefitBucketRepository;
+    private final BenefitRepository benefitRepository;
+    private final BenefitCache benefitCache;
+    private final TransferProperties.Buckets properties;
+
+    public BenefitBucketService(
+            BenefitBucketRepository benefitBucketRepository,
+            BenefitRepository benefitRepository,
+            BenefitCache benefitCache,
+            TransferProperties transferProperties) {
+        this.benefitBucketRepository = benefitBucketRepository;
+        this.benefitRepository = benefitRepository;
+        this.benefitCache = benefitCache;
+        this.properties = transferProperties.getBuckets();
+    }
+
+    public boolean isBucketed(Long benefitId) {
+        return properties.getBenefitIds().contains(benefitId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeBuckets() {
+        properties.getBenefitIds()
+                .stream()
+                .filter(benefitRepository::existsById)
+                .forEach(this::createMissingBuckets);
+    }
+
+    /**
+     * Credita o valor em um bucket do benefício. Retorna {@code false} quando o benefício
+     * não existe ou está inativo.
+     *
+     * <p>Quando o bucket ainda não existe, o benefício é bloqueado antes de criá-lo: créditos
+     * concorrentes para o mesmo bucket esperam esse lock e, ao obtê-lo, creditam o bucket já
+     * criado em vez de tentar inseri-lo de novo.
+     */
+    public boolean credit(Long benefitId, Long sourceBenefitId, long value) {
+        benefitCache.evict(benefitId);
+        var amount = Money.toBigDecimal(value);
+        var bucket = Math.floorMod(Long.hashCode(sourceBenefitId), properties.getCount());
+
+        if (benefitBucketRepository.creditIfActive(benefitId, bucket, amount) > 0) {
+            return true;
+        }
+        if (benefitRepository.findActiveByIdForUpdate(benefitId).isEmpty()) {
+            return false;
+        }
+        if (benefitBucketRepository.creditIfActive(benefitId, bucket, amount) > 0) {
+            return true;
+        }
+
+        benefitBucketRepository.save(new BenefitBucketEntity(benefitId, bucket, amount));
+        return true;
+    }
+
+    /**
+     * Credita em um bucket e mantém o saldo pendente da entidade já carregada coerente.
+     */
+    public void credit(BenefitEntity destination, Long sourceBenefitId, long value) {
+        loadPending(destination);
+        credit(destination.getId(), sourceBenefitId, value);
+
+        destination.setPendingValue(
+                Money.toBigDecimal(Math.addExact(Money.cents(destination.getPendingValue()), value)));
+    }
+
+    /**
+     * Recolhe o saldo de todos os buckets para a linha principal da entidade.
+     */
+    public void sweep(BenefitEntity benefit) {
+        benefit.setValue(Money.toBigDecimal(Math.addExact(Money.cents(benefit.getValue()), drain(benefit.getId()))));
+        benefit.setPendingValue(BigDecimal.ZERO);
+    }
+
+    /**
+     * Zera os buckets do benefício, com as linhas bloqueadas, e retorna o total retirado, em
+     * centavos.
+     */
+    public long drain(Long benefitId) {
+        var drained = 0L;
+        for (var bucket : benefitBucketRepository.findAllByBenefitIdForUpdate(benefitId)) {
+            drained = Math.addExact(drained, Money.cents(bucket.getValue()));
+            bucket.setValue(BigDecimal.ZERO);
+        }
+        return drained;
+    }
+
+    /**
+     * Carrega o saldo pendente da entidade, uma vez por instância. Benefícios fora do modo
+     * bucketed ficam com zero, sem consulta.
+     */
+    public void loadPending(BenefitEntity benefit) {
+        if (benefit.getPendingValue() != null) {
+            return;
+        }
+        benefit.setPendingValue(isBucketed(benefit.getId())
+                ? benefitBucketRepository.sumByBenefitId(benefit.getId())
+                : BigDecimal.ZERO);
+    }
+
+    /**
+     * Cópia da resposta com o saldo dos buckets somado ao valor, para benefícios bucketed. As
+     * demais respostas são devolvidas sem cópia e sem consulta.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BenefitResponse withPending(BenefitResponse benefit) {
+        if (benefit == null || !isBucketed(benefit.getId())) {
+            return benefit;
+        }
+
+        return new BenefitResponse(
+                benefit.getId(),
+                benefit.getName(),
+                benefit.getDescription(),
+                plusPending(benefit.getId(), benefit.getValue()),
+                benefit.getActive(),
+                benefit.getVersion(),
+                benefit.getCreatedAt(),
+                benefit.getUpdatedAt()
+        );
+    }
+
+    /**
+     * {@link #withPending(BenefitResponse)} para a projeção usada no ETag, com o mesmo valor.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BenefitVersion withPending(BenefitVersion benefit) {
+        if (!isBucketed(benefit.id())) {
+            return benefit;
+        }
+        return new BenefitVersion(benefit.id(), benefit.version(), plusPending(benefit.id(), benefit.value()));
+    }
+
+    /**
+     * {@link #withPending(BenefitResponse)} para cada item. Sem benefícios bucketed na lista,
+     * devolve a própria lista.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BenefitResponse> withPending(List<BenefitResponse> benefits) {
+        if (benefits.stream().noneMatch(benefit -> isBucketed(benefit.getId()))) {
+            return benefits;
+        }
+        return benefits.stream().map(this::withPending).toList();
+    }
+
+    private BigDecimal plusPending(Long benefitId, BigDecimal value) {
+        var pending = benefitBucketRepository.sumByBenefitId(benefitId);
+        return Money.toBigDecimal(Math.addExact(Money.cents(value), Money.cents(pending)));
+    }
+
+    private void createMissingBuckets(Long benefitId) {
+        var existing = new HashSet<>(benefitBucketRepository.findBucketsByBenefitId(benefitId));
+        for (int bucket = 0; bucket < properties.getCount(); bucket++) {
+            if (!existing.contains(bucket)) {
+                benefitBucketRepository.save(new BenefitBucketEntity(benefitId, bucket, BigDecimal.ZERO));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import com.example.backend.cache.ExpiringLruCache;
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache de {@link BenefitResponse} por ID para as consultas de benefício.
+ *
+ * <p>Toda escrita invalida os benefícios afetados duas vezes: ao ser registrada e ao fim da
+ * transação. Cada invalidação avança um carimbo por faixa de IDs; uma leitura só é guardada se
+ * nenhuma invalidação da sua faixa ocorreu desde que começou, o que impede que uma linha lida
+ * antes do commit volte ao cache depois dele. Entre leituras concorrentes prevalece a de maior
+ * {@code version}.
+ */
+@Component
+public class BenefitCache {
+
+    private static final int STAMP_STRIPES = 64;
+
+    private final ExpiringLruCache<Long, BenefitResponse> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public BenefitCache(BenefitCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = new ExpiringLruCache<>(properties.getSize(), properties.getTtl());
+
+        FunctionCounter.builder("benefit.cache.gets", cache, ExpiringLruCache::hitCount)
+                .tag("result", "hit")
+                .description("Consultas de benefício atendidas pelo cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("benefit.cache.gets", cache, ExpiringLruCache::missCount)
+                .tag("result", "miss")
+                .description("Consultas de benefício que foram ao banco")
+                .register(meterRegistry);
+        FunctionCounter.builder("benefit.cache.evictions", cache, ExpiringLruCache::evictionCount)
+                .description("Benefícios removidos do cache por tamanho ou expiração")
+                .register(meterRegistry);
+        Gauge.builder("benefit.cache.size", cache, ExpiringLruCache::size)
+                .description("Benefícios mantidos no cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<BenefitResponse> get(Long id, Function<Long, Optional<BenefitResponse>> loader) {
+        var cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        var stripe = stripeOf(id);
+        var stamp = stamps.get(stripe);
+        var loaded = loader.apply(id);
+        loaded.ifPresent(response -> cache.putIf(id, response, (current, candidate) ->
+                stamps.get(stripe) == stamp
+                        && (current == null || current.getVersion() <= candidate.getVersion())));
+        return loaded;
+    }
+
+    /**
+     * Benefício em cache, sem ir ao banco em caso de falta.
+     */
+    public Optional<BenefitResponse> peek(Long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Long> ids) {
+        remove(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(ids);
+                }
+            });
+        }
+    }
+
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    public long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    private void remove(Collection<Long> ids) {
+        for (var id : ids) {
+            stamps.incrementAndGet(stripeOf(id));
+            cache.remove(id);
+        }
+    }
+
+    private static int stripeOf(Long id) {
+        return (Long.hashCode(id) & Integer.MAX_VALUE) % STAMP_STRIPES;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.mapper.BenefitMapper;
+import com.example.backend.repository.BenefitRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.example.backend.repository.BenefitRepository.STREAM_FETCH_SIZE;
+
+/**
+ * Exporta todos os benefícios em NDJSON, um objeto por linha, ordenados por ID.
+ *
+ * <p>As linhas são lidas por um cursor JDBC e escritas direto na saída à medida que chegam. O
+ * contexto de persistência é limpo a cada {@code STREAM_FETCH_SIZE} linhas, de modo que a
+ * memória usada não cresce com o tamanho da tabela.
+ */
+@Service
+@AllArgsConstructor
+public class BenefitExportService {
+
+    private static final char NEWLINE = '\n';
+
+    private final BenefitRepository benefitRepository;
+    private final BenefitMapper benefitMapper;
+    private final BenefitBucketService benefitBucketService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream output) throws IOException {
+        var writer = objectMapper.writerFor(BenefitResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        var generator = objectMapper.getFactory()
+                .createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        var exported = 0L;
+
+        try (generator; var benefits = benefitRepository.streamAll()) {
+            var iterator = benefits.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, benefitBucketService.withPending(benefitMapper.toResponse(iterator.next())));
+                generator.writeRaw(NEWLINE);
+
+                if (++exported % STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        return exported;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitSuggestion;
+import com.example.backend.repository.BenefitRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índice em memória dos nomes de benefícios, usado na busca por prefixo.
+ *
+ * <p>As chaves são o nome sem acentos e em minúsculas, seguido do ID, em um
+ * {@link ConcurrentSkipListMap}: a busca percorre apenas a faixa de chaves que começam com o
+ * prefixo, sem lock e sem consulta ao banco. O índice é carregado na inicialização e atualizado
+ * após o commit das escritas de {@link BenefitService}.
+ *
+ * <p>A cada {@code benefit.cache.reload-interval} os nomes são relidos do banco e conciliados com o
+ * índice, o que traz as escritas feitas fora desta aplicação. Benefícios atualizados por esta
+ * aplicação durante a releitura mantêm a versão da atualização, mais recente que a lida.
+ */
+@Component
+public class BenefitNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenefitNameIndex.class);
+
+    private static final char ID_SEPARATOR = '\0';
+
+    private final BenefitRepository benefitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reloadInterval;
+    private final ScheduledExecutorService reloader;
+    private final ConcurrentSkipListMap<String, BenefitSuggestion> byName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keys = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * IDs atualizados por {@link #putAfterCommit} desde o início da releitura em andamento, ou
+     * {@code null} fora de uma releitura. Protegido pelo monitor do índice.
+     */
+    private Set<Long> putDuringReload;
+
+    public BenefitNameIndex(
+            BenefitRepository benefitRepository,
+            PlatformTransactionManager transactionManager,
+            BenefitCacheProperties properties) {
+        this.benefitRepository = benefitRepository;
+        this.reloadInterval = properties.getReloadInterval();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Não é somente leitura: o índice é carregado do banco principal, nunca da réplica.
+        this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "benefit-name-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        load();
+        reloader.scheduleWithFixedDelay(
+                this::reload, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reloader.shutdownNow();
+    }
+
+    /**
+     * Até {@code limit} benefícios cujo nome começa com {@code prefix}, ignorando maiúsculas e
+     * acentos, em ordem alfabética.
+     */
+    public List<BenefitSuggestion> search(String prefix, int limit, boolean activeOnly) {
+        if (!loaded) {
+            load();
+        }
+
+        var from = TextNormalizer.fold(prefix);
+        var matches = new ArrayList<BenefitSuggestion>(limit);
+        for (var suggestion : byName.subMap(from, from + Character.MAX_VALUE).values()) {
+            if (activeOnly && !Boolean.TRUE.equals(suggestion.getActive())) {
+                continue;
+            }
+            matches.add(suggestion);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Atualiza o benefício no índice depois do commit da transação atual, ou imediatamente
+     * quando não há transação.
+     */
+    public void putAfterCommit(BenefitSuggestion suggestion) {
+        AfterCommit.run(() -> put(suggestion));
+    }
+
+    /**
+     * Relê todos os nomes e concilia o índice com o banco.
+     */
+    void reload() {
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            putDuringReload = new HashSet<>();
+        }
+
+        List<BenefitSuggestion> suggestions;
+        try {
+            suggestions = transactionTemplate.execute(status -> benefitRepository.findAllSuggestions());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                putDuringReload = null;
+            }
+            logger.warn("Falha ao recarregar o índice de nomes de benefícios", e);
+            return;
+        }
+
+        synchronized (this) {
+            var found = new HashSet<Long>();
+            for (var suggestion : suggestions) {
+                found.add(suggestion.getId());
+                if (!putDuringReload.contains(suggestion.getId())) {
+                    index(suggestion);
+                }
+            }
+            for (var id : List.copyOf(keys.keySet())) {
+                if (!found.contains(id) && !putDuringReload.contains(id)) {
+                    byName.remove(keys.remove(id));
+                }
+            }
+            putDuringReload = null;
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        transactionTemplate.execute(status -> benefitRepository.findAllSuggestions()).forEach(this::index);
+        loaded = true;
+    }
+
+    private synchronized void put(BenefitSuggestion suggestion) {
+        if (loaded) {
+            index(suggestion);
+        }
+        if (putDuringReload != null) {
+            putDuringReload.add(suggestion.getId());
+        }
+    }
+
+    private void index(BenefitSuggestion suggestion) {
+        var key = TextNormalizer.fold(suggestion.getName()) + ID_SEPARATOR + String.format("%019d", suggestion.getId());
+        byName.put(key, suggestion);
+        var previous = keys.put(suggestion.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            byName.remove(previous);
+        }
+    }
+}
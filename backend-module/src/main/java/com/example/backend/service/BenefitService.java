@@ -1,7 +1,18 @@
 package com.example.backend.service;
 
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitBalance;
+import com.example.backend.dto.benefit.BenefitCursor;
+import com.example.backend.dto.benefit.BenefitPage;
 import com.example.backend.dto.benefit.BenefitRequest;
 import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitSuggestion;
+import com.example.backend.dto.benefit.BenefitText;
+import com.example.backend.dto.benefit.BenefitVersion;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.dto.transfer.BatchTransferRequest;
+import com.example.backend.dto.transfer.BatchTransferResponse;
+import com.example.backend.dto.transfer.TransferOutcome;
 import com.example.backend.dto.transfer.TransferRequest;
 import com.example.backend.dto.transfer.TransferResponse;
 import com.example.backend.dto.transfer.TransferResult;
@@ -10,20 +21,36 @@ import com.example.backend.exception.BenefitConflictException;
 import com.example.backend.exception.BenefitNotFoundException;
 import com.example.backend.mapper.BenefitMapper;
 import com.example.backend.mapper.TransferMapper;
+import com.example.backend.money.Money;
 import com.example.backend.repository.BenefitRepository;
-import jakarta.persistence.OptimisticLockException;
 import lombok.AllArgsConstructor;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.example.backend.config.TransferProperties.TransferMode.CONDITIONAL_UPDATE;
+import static com.example.backend.validation.BenefitValidator.validateActive;
 import static com.example.backend.validation.BenefitValidator.validateBenefits;
+import static com.example.backend.validation.BenefitValidator.validateSufficientBalance;
+import static com.example.backend.validation.PageValidator.validatePageSize;
+import static com.example.backend.validation.SearchValidator.validateSearch;
+import static com.example.backend.validation.SearchValidator.validateTextSearch;
 import static com.example.backend.validation.TransferValidator.validateTransferencia;
 
 @AllArgsConstructor
@@ -31,112 +58,456 @@ import static com.example.backend.validation.TransferValidator.validateTransfere
 @Transactional
 public class BenefitService {
 
+    static final String TRANSFER_SUCCESS_MESSAGE = "Transferência realizada com success";
+    static final String TRANSFER_CONFLICT_MESSAGE = "Transferência falhou devido a conflito de concorrência";
+
     private final BenefitRepository benefitRepository;
     private final BenefitMapper benefitMapper;
     private TransferMapper transferMapper;
+    private final TransferProperties transferProperties;
+    private final ShardedTransferEngine shardedTransferEngine;
+    private final TransferLockManager transferLockManager;
+    private final TransferRetryScheduler transferRetryScheduler;
+    private final BenefitBucketService benefitBucketService;
+    private final TransferJournal transferJournal;
+    private final BenefitCache benefitCache;
+    private final ActiveBenefitSnapshot activeBenefitSnapshot;
+    private final BenefitNameIndex benefitNameIndex;
+    private final BenefitTextIndex benefitTextIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Listagem completa, ordenada por ID, sem paginação. Lida do banco principal, como toda
+     * leitura que alimenta um cache (aqui, o cache de consultas do Hibernate): uma leitura da
+     * réplica atrasada ficaria no cache e seria servida a todos até expirar.
+     */
+    public BenefitPage findAll() {
+        return new BenefitPage(benefitBucketService.withPending(
+                benefitRepository.findPageAfterId(0L, Limit.unlimited())), null);
+    }
 
-    @Transactional(readOnly = true)
-    public List<BenefitResponse> findAll() {
-        return benefitRepository.findAll()
-                .stream()
-                .map(benefitMapper::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Página da listagem completa, ordenada por ID, a partir do cursor informado. Lida do banco
+     * principal, pelo mesmo motivo de {@link #findAll()}.
+     */
+    public BenefitPage findAll(String cursor, int limit) {
+        validatePageSize(limit);
+
+        var afterId = cursor == null ? 0L : BenefitCursor.decode(cursor, false).id();
+        return toPage(benefitBucketService.withPending(
+                benefitRepository.findPageAfterId(afterId, Limit.of(limit + 1))), limit, false);
     }
 
-    @Transactional(readOnly = true)
-    public List<BenefitResponse> findAllAtivos() {
-        return benefitRepository.findAllAtivos()
-                .stream()
-                .map(benefitMapper::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Todos os benefícios ativos, ordenados por nome e ID, sem paginação. Servidos pela
+     * {@link ActiveBenefitSnapshot}, sem consulta ao banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BenefitPage findAllAtivos() {
+        return new BenefitPage(benefitBucketService.withPending(
+                activeBenefitSnapshot.pageAfter(null, null, Integer.MAX_VALUE)), null);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Página dos benefícios ativos, ordenada por nome e ID, a partir do cursor informado.
+     * Servida pela {@link ActiveBenefitSnapshot}, sem consulta ao banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BenefitPage findAllAtivos(String cursor, int limit) {
+        validatePageSize(limit);
+
+        if (cursor == null) {
+            return toPage(benefitBucketService.withPending(
+                    activeBenefitSnapshot.pageAfter(null, null, limit + 1)), limit, true);
+        }
+
+        var after = BenefitCursor.decode(cursor, true);
+        return toPage(benefitBucketService.withPending(
+                activeBenefitSnapshot.pageAfter(after.name(), after.id(), limit + 1)), limit, true);
+    }
+
+    /**
+     * Benefício pelo ID, servido pelo {@link BenefitCache}. Em caso de falta a linha é lida do
+     * banco principal, para que o cache nunca guarde uma leitura atrasada da réplica.
+     */
     public BenefitResponse findById(Long id) {
-        return benefitMapper.toResponse(getBenefitOrThrow(id));
+        return benefitCache.get(id, benefitId -> benefitRepository.findResponseById(benefitId)
+                        .map(benefitBucketService::withPending))
+                .orElseThrow(() -> new BenefitNotFoundException("Beneficio não encontrado"));
     }
 
-    public BenefitResponse create(BenefitRequest benefitRequest) {
-        validateUniqueName(benefitRequest.getName());
+    /**
+     * Versão e valor do benefício, para conferir o ETag sem montar a resposta. Vêm do
+     * {@link BenefitCache} quando o benefício está nele; senão, de uma projeção de três colunas
+     * lida do banco principal, como em {@link #findById}.
+     */
+    public BenefitVersion findVersionById(Long id) {
+        return benefitCache.peek(id)
+                .map(benefit -> new BenefitVersion(benefit.getId(), benefit.getVersion(), benefit.getValue()))
+                .or(() -> benefitRepository.findVersionById(id).map(benefitBucketService::withPending))
+                .orElseThrow(() -> new BenefitNotFoundException("Beneficio não encontrado"));
+    }
 
-        var entity = benefitMapper.toEntity(benefitRequest);
+    public BenefitResponse create(BenefitRequest benefitRequest) {
+        var entity = saveWithUniqueName(benefitMapper.toEntity(benefitRequest));
+        activeBenefitSnapshot.refreshAfterCommit(List.of(entity.getId()));
+        benefitNameIndex.putAfterCommit(toSuggestion(entity));
+        benefitTextIndex.putAfterCommit(toText(entity));
 
-        return benefitMapper.toResponse(benefitRepository.save(entity));
+        return benefitMapper.toResponse(entity);
     }
 
     public BenefitResponse update(Long id, BenefitRequest benefitRequest) {
         var entity = getBenefitOrThrow(id);
 
-        validateUniqueName(benefitRequest.getName());
+        benefitCache.evict(id);
+        activeBenefitSnapshot.refreshAfterCommit(List.of(id));
+
+        if (benefitBucketService.isBucketed(id)) {
+            benefitBucketService.sweep(entity);
+        }
 
         benefitMapper.updateEntity(entity, benefitRequest);
 
-        return benefitMapper.toResponse(benefitRepository.save(entity));
+        var saved = saveWithUniqueName(entity);
+        benefitNameIndex.putAfterCommit(toSuggestion(saved));
+        benefitTextIndex.putAfterCommit(toText(saved));
+
+        return benefitMapper.toResponse(saved);
     }
 
     public void delete(Long id) {
         var entity = getBenefitOrThrow(id);
 
+        benefitCache.evict(id);
+        activeBenefitSnapshot.refreshAfterCommit(List.of(id));
         entity.setActive(false);
         benefitRepository.save(entity);
+        benefitNameIndex.putAfterCommit(toSuggestion(entity));
+        benefitTextIndex.putAfterCommit(toText(entity));
+    }
+
+    /**
+     * Benefícios cujo nome começa com o prefixo informado, para autocompletar. Servida pelo
+     * {@link BenefitNameIndex}, sem consulta ao banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BenefitSuggestion> search(String prefix, int limit, boolean activeOnly) {
+        validateSearch(prefix, limit);
+
+        return benefitNameIndex.search(prefix, limit, activeOnly);
+    }
+
+    /**
+     * Benefícios com todas as palavras informadas no nome ou na descrição, do mais para o menos
+     * relevante. O {@link BenefitTextIndex} escolhe os IDs; só eles são lidos do banco.
+     */
+    @Transactional(readOnly = true)
+    public List<BenefitResponse> searchText(String query, int limit, boolean activeOnly) {
+        validateTextSearch(query, limit);
+
+        var ids = benefitTextIndex.search(query, limit, activeOnly);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var byId = benefitBucketService.withPending(benefitRepository.findResponsesByIdIn(ids)).stream()
+                .collect(Collectors.toMap(BenefitResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
+    /**
+     * Não abre transação: a requisição aguarda o motor por shards ou os locks de benefício
+     * sem reter uma conexão, e só então a transação é iniciada. Cada nova tentativa após
+     * conflito abre uma transação nova e é feita fora dos locks.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransferResponse transfer(TransferRequest transferRequest) {
-        validateTransferencia(transferRequest);
-        return execute(transferRequest);
+        return transfer(transferRequest, response -> {
+        });
     }
 
+    /**
+     * Como {@link #transfer(TransferRequest)}, executando {@code beforeCommit} na mesma transação
+     * da transferência, depois de aplicada. Se {@code beforeCommit} falhar, a transferência é
+     * desfeita e a falha chega a quem chamou.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferResponse transfer(TransferRequest transferRequest, Consumer<TransferResponse> beforeCommit) {
+        validateTransferencia(transferRequest);
+
+        var originId = transferRequest.getBenefitOriginId();
+        var destinationId = transferRequest.getBenefitDestinationId();
+
+        if (shardedTransferEngine.isEnabled()
+                && !benefitBucketService.isBucketed(originId)
+                && !benefitBucketService.isBucketed(destinationId)) {
+            return shardedTransferEngine.transfer(transferRequest, beforeCommit);
+        }
+
+        return transferRetryScheduler.execute(originId, destinationId, () ->
+                transferLockManager.executeLocked(originId, destinationId, () ->
+                        transactionTemplate.execute(status -> {
+                            var response = execute(transferRequest);
+                            beforeCommit.accept(response);
+                            return response;
+                        })));
+    }
 
-    @Retryable(
-            value = {
-                    OptimisticLockException.class,
-                    ObjectOptimisticLockingFailureException.class
-            },
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 100, multiplier = 2)
-    )
     public TransferResponse execute(TransferRequest transferRequest) {
+        var benefitIds = List.of(transferRequest.getBenefitOriginId(), transferRequest.getBenefitDestinationId());
+        benefitCache.evict(benefitIds);
+        activeBenefitSnapshot.refreshAfterCommit(benefitIds);
 
-        var result =
-                executeTransfer(transferRequest);
+        var result = transferProperties.getMode() == CONDITIONAL_UPDATE
+                ? executeConditionalTransfer(transferRequest)
+                : executeTransfer(transferRequest);
 
         var transaction =
                 transferMapper.toTransaction(transferRequest, result);
 
+        transferJournal.record(transaction);
+
         return new TransferResponse(
                 true,
-                "Transferência realizada com success",
+                TRANSFER_SUCCESS_MESSAGE,
                 transaction
         );
     }
 
-    @Recover
-    public TransferResponse recover(
-            Exception e,
-            TransferRequest transferRequest) {
+    /**
+     * Aplica um lote de transferências em uma única transação.
+     *
+     * <p>Todos os benefícios envolvidos são carregados e bloqueados em uma única consulta,
+     * em ordem de ID, e as transferências são aplicadas na ordem recebida. Itens inválidos
+     * são rejeitados individualmente sem interromper o restante do lote.
+     */
+    public BatchTransferResponse transferBatch(BatchTransferRequest batchTransferRequest) {
+        var outcomes = applyTransfers(batchTransferRequest.getTransfers());
+
+        var results = outcomes.stream()
+                .map(outcome -> outcome.isSuccess()
+                        ? outcome.getResponse()
+                        : new TransferResponse(false, outcome.getError().getMessage(), null))
+                .collect(Collectors.toList());
+        var succeeded = (int) outcomes.stream().filter(TransferOutcome::isSuccess).count();
 
-        throw new BenefitConflictException(
-                "Transferência falhou devido a conflito de concorrência"
+        return new BatchTransferResponse(
+                results.size(),
+                succeeded,
+                results.size() - succeeded,
+                results
         );
     }
 
+    /**
+     * Aplica as transferências na ordem recebida, com todos os benefícios envolvidos bloqueados
+     * por uma única consulta ordenada por ID, e retorna o resultado de cada uma.
+     */
+    public List<TransferOutcome> applyTransfers(List<TransferRequest> transfers) {
+        var ids = new TreeSet<Long>();
+        transfers.forEach(transferRequest -> {
+            ids.add(transferRequest.getBenefitOriginId());
+            ids.add(transferRequest.getBenefitDestinationId());
+        });
+        benefitCache.evict(ids);
+        activeBenefitSnapshot.refreshAfterCommit(ids);
+
+        var benefits = benefitRepository.findAllByIdInForUpdate(ids)
+                .stream()
+                .collect(Collectors.toMap(BenefitEntity::getId, Function.identity()));
+
+        var outcomes = new ArrayList<TransferOutcome>(transfers.size());
+
+        for (var transferRequest : transfers) {
+            try {
+                outcomes.add(TransferOutcome.success(executeBatchItem(transferRequest, benefits)));
+            } catch (BenefitConflictException | BenefitNotFoundException e) {
+                outcomes.add(TransferOutcome.failure(e));
+            }
+        }
+
+        benefitRepository.saveAll(benefits.values());
+
+        return outcomes;
+    }
+
+    /**
+     * Saldos lidos pelo {@link ShardedTransferEngine}. Não usa transação somente leitura: os
+     * saldos precisam vir do banco principal, com a versão que {@link #writeBalances} vai conferir.
+     */
+    public List<BenefitBalance> loadBalances(Collection<Long> ids) {
+        return benefitRepository.findBalancesByIdIn(ids);
+    }
+
+    /**
+     * Grava, em uma única transação, os saldos calculados em memória pelo {@link ShardedTransferEngine}
+     * e registra as transferências que os produziram. Cada linha só é gravada se ainda estiver na
+     * versão lida pelo motor; se alguma tiver sido alterada por fora dele, nada é gravado e os IDs
+     * em conflito são retornados.
+     *
+     * <p>{@code beforeCommit} roda na mesma transação, depois das gravações. Se falhar, tudo é desfeito.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Set<Long> writeBalances(
+            List<BenefitBalance> balances, List<TransactionalRequest> transactions, Runnable beforeCommit) {
+        var ids = balances.stream().map(BenefitBalance::id).toList();
+
+        return transactionTemplate.execute(status -> {
+            var conflicts = benefitRepository.updateBalancesIfVersion(balances);
+            if (!conflicts.isEmpty()) {
+                status.setRollbackOnly();
+                return conflicts;
+            }
+
+            benefitCache.evict(ids);
+            activeBenefitSnapshot.refreshAfterCommit(ids);
+            transactions.forEach(transferJournal::record);
+            beforeCommit.run();
+            return conflicts;
+        });
+    }
+
     @Transactional
     public TransferResult executeTransfer(TransferRequest transferRequest) {
 
         var origin = findBenefitOrThrow(transferRequest.getBenefitOriginId(), "origin");
         var destination = findBenefitOrThrow(transferRequest.getBenefitDestinationId(), "destination");
 
-        validateBenefits(origin, destination, transferRequest.getValue());
-
-        var previousBalanceSource = origin.getValue();
-        var previousBalanceDestination = destination.getValue();
-
-        origin.setValue(origin.getValue().subtract(transferRequest.getValue()));
-        destination.setValue(destination.getValue().add(transferRequest.getValue()));
+        var result = applyTransfer(origin, destination, Money.cents(transferRequest.getValue()));
 
         benefitRepository.save(origin);
         benefitRepository.save(destination);
 
+        return result;
+    }
+
+    /**
+     * Aplica a transferência com dois {@code UPDATE} condicionais, sem ler as entidades antes.
+     *
+     * <p>O sucesso é decidido pelo número de linhas afetadas. As atualizações seguem a ordem
+     * de ID dos benefícios para evitar deadlock entre transferências em sentidos opostos, e os
+     * saldos retornados são lidos depois das atualizações, com as linhas já bloqueadas.
+     */
+    @Transactional
+    public TransferResult executeConditionalTransfer(TransferRequest transferRequest) {
+        var originId = transferRequest.getBenefitOriginId();
+        var destinationId = transferRequest.getBenefitDestinationId();
+        var value = Money.cents(transferRequest.getValue());
+        var now = LocalDateTime.now();
+
+        if (originId < destinationId) {
+            debitOrThrow(originId, value, now);
+            creditOrThrow(destinationId, originId, value, now);
+        } else {
+            creditOrThrow(destinationId, originId, value, now);
+            debitOrThrow(originId, value, now);
+        }
+
+        var benefits = benefitRepository.findAllById(List.of(originId, destinationId))
+                .stream()
+                .collect(Collectors.toMap(BenefitEntity::getId, Function.identity()));
+
+        var origin = findLockedBenefitOrThrow(benefits, originId, "origin");
+        var destination = findLockedBenefitOrThrow(benefits, destinationId, "destination");
+        benefitBucketService.loadPending(origin);
+        benefitBucketService.loadPending(destination);
+
+        return new TransferResult(
+                origin,
+                destination,
+                Math.addExact(Money.cents(origin.getTotalValue()), value),
+                Math.subtractExact(Money.cents(destination.getTotalValue()), value)
+        );
+    }
+
+    private void debitOrThrow(Long originId, long value, LocalDateTime now) {
+        var amount = Money.toBigDecimal(value);
+        if (benefitRepository.debitIfSufficient(originId, amount, now) > 0) {
+            return;
+        }
+
+        if (benefitBucketService.isBucketed(originId)) {
+            var drained = benefitBucketService.drain(originId);
+            if (drained > 0
+                    && benefitRepository.creditIfActive(originId, Money.toBigDecimal(drained), now) > 0
+                    && benefitRepository.debitIfSufficient(originId, amount, now) > 0) {
+                return;
+            }
+        }
+
+        var origin = findBenefitOrThrow(originId, "origin");
+        validateActive(origin, "origin");
+        validateSufficientBalance(Money.cents(origin.getValue()), value);
+
+        throw new BenefitConflictException(TRANSFER_CONFLICT_MESSAGE);
+    }
+
+    private void creditOrThrow(Long destinationId, Long originId, long value, LocalDateTime now) {
+        var credited = benefitBucketService.isBucketed(destinationId)
+                ? benefitBucketService.credit(destinationId, originId, value)
+                : benefitRepository.creditIfActive(destinationId, Money.toBigDecimal(value), now) > 0;
+        if (credited) {
+            return;
+        }
+
+        var destination = findBenefitOrThrow(destinationId, "destination");
+        validateActive(destination, "destination");
+
+        throw new BenefitConflictException(TRANSFER_CONFLICT_MESSAGE);
+    }
+
+    private TransferResponse executeBatchItem(
+            TransferRequest transferRequest,
+            Map<Long, BenefitEntity> benefits) {
+
+        validateTransferencia(transferRequest);
+
+        var origin = findLockedBenefitOrThrow(benefits, transferRequest.getBenefitOriginId(), "origin");
+        var destination = findLockedBenefitOrThrow(benefits, transferRequest.getBenefitDestinationId(), "destination");
+
+        var result = applyTransfer(origin, destination, Money.cents(transferRequest.getValue()));
+        var transaction = transferMapper.toTransaction(transferRequest, result);
+
+        transferJournal.record(transaction);
+
+        return new TransferResponse(
+                true,
+                TRANSFER_SUCCESS_MESSAGE,
+                transaction
+        );
+    }
+
+    /**
+     * {@code value} e os saldos intermediários em centavos.
+     */
+    private TransferResult applyTransfer(BenefitEntity origin, BenefitEntity destination, long value) {
+        benefitBucketService.loadPending(origin);
+        benefitBucketService.loadPending(destination);
+
+        var originBalance = Money.cents(origin.getValue());
+        if (benefitBucketService.isBucketed(origin.getId()) && originBalance < value) {
+            benefitBucketService.sweep(origin);
+            originBalance = Money.cents(origin.getValue());
+        }
+
+        validateBenefits(origin, destination, originBalance, value);
+
+        var destinationBalance = Money.cents(destination.getValue());
+        var previousBalanceSource = Math.addExact(originBalance, Money.cents(origin.getPendingValue()));
+        var previousBalanceDestination = Math.addExact(destinationBalance, Money.cents(destination.getPendingValue()));
+
+        origin.setValue(Money.toBigDecimal(Math.subtractExact(originBalance, value)));
+
+        if (benefitBucketService.isBucketed(destination.getId())) {
+            benefitBucketService.credit(destination, origin.getId(), value);
+        } else {
+            destination.setValue(Money.toBigDecimal(Math.addExact(destinationBalance, value)));
+        }
+
         return new TransferResult(
                 origin,
                 destination,
@@ -145,22 +516,64 @@ public class BenefitService {
         );
     }
 
+    private BenefitEntity findLockedBenefitOrThrow(Map<Long, BenefitEntity> benefits, Long benefitId, String type) {
+        var benefit = benefits.get(benefitId);
+        if (benefit == null) {
+            throw new BenefitNotFoundException(
+                    String.format("Benefício de %s não encontrado: %d", type, benefitId));
+        }
+        return benefit;
+    }
+
     private BenefitEntity findBenefitOrThrow(Long benefitId, String type) {
         return benefitRepository.findById(benefitId)
                 .orElseThrow(() -> new BenefitNotFoundException(
                         String.format("Benefício de %s não encontrado: %d", type, benefitId)));
     }
 
+    private BenefitPage toPage(List<BenefitResponse> rows, int limit, boolean cursorWithName) {
+        var items = rows.size() > limit ? rows.subList(0, limit) : rows;
+
+        var nextCursor = rows.size() > limit
+                ? BenefitCursor.of(items.get(items.size() - 1), cursorWithName).encode()
+                : null;
+        return new BenefitPage(items, nextCursor);
+    }
+
+    private static BenefitSuggestion toSuggestion(BenefitEntity entity) {
+        return new BenefitSuggestion(entity.getId(), entity.getName(), entity.getActive());
+    }
+
+    private static BenefitText toText(BenefitEntity entity) {
+        return new BenefitText(entity.getId(), entity.getName(), entity.getDescription(), entity.getActive());
+    }
+
     private BenefitEntity getBenefitOrThrow(Long id) {
         return benefitRepository.findById(id)
                 .orElseThrow(() -> new BenefitNotFoundException("Beneficio não encontrado"));
     }
 
-    private void validateUniqueName(String name) {
-        if (benefitRepository.existsByName(name)) {
-            throw new BenefitConflictException(
-                    "Já existe um benefício com o name informado: " + name
-            );
+    /**
+     * Grava e faz o flush na hora, para que a constraint de nome único do banco seja checada
+     * dentro do método. Substitui a consulta prévia por nome, que custava uma ida ao banco a
+     * mais e ainda deixava duas requisições concorrentes gravarem o mesmo nome.
+     */
+    private BenefitEntity saveWithUniqueName(BenefitEntity entity) {
+        try {
+            return benefitRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueNameViolation(e)) {
+                throw new BenefitConflictException(
+                        "Já existe um benefício com o name informado: " + entity.getName()
+                );
+            }
+            throw e;
         }
     }
+
+    private static boolean isUniqueNameViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase().contains(BenefitEntity.UNIQUE_NAME_CONSTRAINT);
+    }
 }
@@ -0,0 +1,462 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitText;
+import com.example.backend.repository.BenefitRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre o nome e a descrição dos benefícios, usado na busca textual.
+ *
+ * <p>Os textos são quebrados em termos sem acentos e em minúsculas, descartando stopwords do
+ * português. Cada termo guarda, por campo, a lista ordenada dos documentos que o contêm em um
+ * {@code int[]}. A busca exige todos os termos da consulta: parte da lista mais curta e confere os
+ * demais termos por busca binária. O resultado é ordenado por relevância: cada termo pesa pelo
+ * IDF, e ocorrências no nome valem o dobro das ocorrências na descrição.
+ *
+ * <p>Os documentos são numerados na ordem em que entram no índice, então a carga inicial e os
+ * benefícios novos apenas acrescentam ao fim das listas. As escritas, raras e aplicadas após o
+ * commit, são isoladas das leituras por um {@link ReentrantReadWriteLock}.
+ *
+ * <p>Periodicamente o índice é remontado a partir do banco, o que traz as escritas feitas fora
+ * desta aplicação e descarta documentos e termos que não existem mais. O IDF considera apenas os
+ * documentos que ainda têm algum termo indexado.
+ */
+@Component
+public class BenefitTextIndex {
+
+    static final float NAME_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "para", "por", "com", "ao", "aos", "que", "se"
+    );
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(BenefitTextIndex.class);
+
+    private final BenefitRepository benefitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reloadInterval;
+    private final ScheduledExecutorService reloader;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Corpus corpus = new Corpus();
+    private volatile boolean loaded;
+
+    /**
+     * Textos gravados por {@link #putAfterCommit} desde o início da releitura em andamento, ou
+     * {@code null} fora de uma releitura. Protegido pelo lock de escrita.
+     */
+    private Map<Long, BenefitText> putDuringReload;
+
+    public BenefitTextIndex(
+            BenefitRepository benefitRepository,
+            PlatformTransactionManager transactionManager,
+            BenefitCacheProperties properties) {
+        this.benefitRepository = benefitRepository;
+        this.reloadInterval = properties.getReloadInterval();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Não é somente leitura: o índice é carregado do banco principal, nunca da réplica.
+        this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "benefit-text-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        load();
+        reloader.scheduleWithFixedDelay(
+                this::reload, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reloader.shutdownNow();
+    }
+
+    /**
+     * IDs de até {@code limit} benefícios que contêm todas as palavras de {@code query} no nome
+     * ou na descrição, do mais para o menos relevante.
+     */
+    public List<Long> search(String query, int limit, boolean activeOnly) {
+        if (!loaded) {
+            load();
+        }
+
+        var queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            var matched = new ArrayList<Term>(queryTerms.size());
+            for (var text : queryTerms) {
+                var term = corpus.terms.get(text);
+                if (term == null || term.documentCount() == 0) {
+                    return List.of();
+                }
+                matched.add(term);
+            }
+            matched.sort(Comparator.comparingInt(Term::documentCount));
+
+            return top(score(matched, activeOnly), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o benefício no índice depois do commit da transação atual, ou imediatamente
+     * quando não há transação.
+     */
+    public void putAfterCommit(BenefitText text) {
+        AfterCommit.run(() -> put(text));
+    }
+
+    /**
+     * Relê todos os textos e troca o índice por um novo, montado fora do lock. Além de trazer as
+     * escritas feitas fora desta aplicação, descarta documentos e termos que não existem mais.
+     * Textos gravados por esta aplicação durante a releitura são reaplicados sobre o novo índice.
+     */
+    void reload() {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            putDuringReload = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Corpus rebuilt = null;
+        try {
+            rebuilt = read();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao recarregar o índice textual de benefícios", e);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                putDuringReload.values().forEach(rebuilt::index);
+                corpus = rebuilt;
+            }
+            putDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            corpus = read();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Corpus read() {
+        var rebuilt = new Corpus();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var texts = benefitRepository.streamAllTexts()) {
+                texts.forEach(rebuilt::index);
+            }
+        });
+        return rebuilt;
+    }
+
+    private void put(BenefitText text) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                corpus.index(text);
+            }
+            if (putDuringReload != null) {
+                putDuringReload.put(text.id(), text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Candidatos vêm da união nome/descrição do termo mais raro; cada termo seguinte descarta os
+     * que não o contêm e soma o peso dos que contêm. Como os candidatos estão em ordem, as listas
+     * dos demais termos são percorridas uma única vez, com busca exponencial.
+     */
+    private Scores score(List<Term> matched, boolean activeOnly) {
+        var documentCount = corpus.live;
+        var rarest = matched.get(0);
+        var name = rarest.postings[NAME];
+        var description = rarest.postings[DESCRIPTION];
+        var idf = rarest.idf(documentCount);
+        var candidates = new int[name.size + description.size];
+        var scores = new float[candidates.length];
+        var count = 0;
+        int n = 0, d = 0;
+        while (n < name.size || d < description.size) {
+            int document;
+            float weight;
+            if (d == description.size || (n < name.size && name.documents[n] < description.documents[d])) {
+                document = name.documents[n++];
+                weight = NAME_WEIGHT;
+            } else if (n == name.size || description.documents[d] < name.documents[n]) {
+                document = description.documents[d++];
+                weight = DESCRIPTION_WEIGHT;
+            } else {
+                document = name.documents[n++];
+                d++;
+                weight = NAME_WEIGHT + DESCRIPTION_WEIGHT;
+            }
+            if (!activeOnly || corpus.active.get(document)) {
+                candidates[count] = document;
+                scores[count++] = idf * weight;
+            }
+        }
+
+        for (var i = 1; i < matched.size() && count > 0; i++) {
+            var term = matched.get(i);
+            var termIdf = term.idf(documentCount);
+            name = term.postings[NAME];
+            description = term.postings[DESCRIPTION];
+            n = 0;
+            d = 0;
+            var kept = 0;
+            for (var c = 0; c < count; c++) {
+                var document = candidates[c];
+                n = name.seek(n, document);
+                d = description.seek(d, document);
+                var weight = (name.at(n) == document ? NAME_WEIGHT : 0f)
+                        + (description.at(d) == document ? DESCRIPTION_WEIGHT : 0f);
+                if (weight > 0) {
+                    candidates[kept] = document;
+                    scores[kept++] = scores[c] + termIdf * weight;
+                }
+            }
+            count = kept;
+        }
+        return new Scores(candidates, scores, count);
+    }
+
+    private List<Long> top(Scores scores, int limit) {
+        var heap = new PriorityQueue<Integer>(limit, scores::compare);
+        for (var i = 0; i < scores.count; i++) {
+            if (heap.size() < limit) {
+                heap.add(i);
+            } else if (scores.compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        var result = new Long[heap.size()];
+        for (var i = result.length - 1; i >= 0; i--) {
+            result[i] = corpus.ids[scores.documents[heap.poll()]];
+        }
+        return List.of(result);
+    }
+
+    static Set<String> tokenize(String text) {
+        var tokens = new LinkedHashSet<String>();
+        if (text == null) {
+            return tokens;
+        }
+        for (var token : SEPARATORS.split(TextNormalizer.fold(text))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Documentos e termos do índice. Os documentos são numerados na ordem em que entram.
+     */
+    private static final class Corpus {
+
+        private final Map<String, Term> terms = new HashMap<>();
+        private final List<Term> termsById = new ArrayList<>();
+        private final Map<Long, Integer> documents = new HashMap<>();
+        private final BitSet active = new BitSet();
+        private long[] ids = new long[1024];
+        private int[][] documentTerms = new int[1024][];
+        private int size;
+        /** Documentos com ao menos um termo indexado. */
+        private int live;
+
+        private void index(BenefitText text) {
+            var document = documents.get(text.id());
+            if (document == null) {
+                document = add(text.id());
+            } else {
+                for (var encoded : documentTerms[document]) {
+                    termsById.get(encoded >>> 1).postings[encoded & 1].remove(document);
+                }
+                if (documentTerms[document].length > 0) {
+                    live--;
+                }
+            }
+
+            var encoded = new ArrayList<Integer>();
+            for (var field : new int[]{NAME, DESCRIPTION}) {
+                for (var value : tokenize(field == NAME ? text.name() : text.description())) {
+                    var term = terms.computeIfAbsent(value, this::newTerm);
+                    term.postings[field].add(document);
+                    encoded.add(term.id << 1 | field);
+                }
+            }
+            documentTerms[document] = encoded.stream().mapToInt(Integer::intValue).toArray();
+            if (!encoded.isEmpty()) {
+                live++;
+            }
+            active.set(document, Boolean.TRUE.equals(text.active()));
+        }
+
+        private int add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                documentTerms = Arrays.copyOf(documentTerms, size * 2);
+            }
+            ids[size] = id;
+            documents.put(id, size);
+            return size++;
+        }
+
+        private Term newTerm(String text) {
+            var term = new Term(termsById.size());
+            termsById.add(term);
+            return term;
+        }
+    }
+
+    private record Scores(int[] documents, float[] values, int count) {
+
+        /**
+         * Maior pontuação primeiro; no empate, o benefício indexado antes.
+         */
+        private int compare(int a, int b) {
+            var byScore = Float.compare(values[a], values[b]);
+            return byScore != 0 ? byScore : Integer.compare(documents[b], documents[a]);
+        }
+    }
+
+    private static final class Term {
+
+        private final int id;
+        private final Postings[] postings = {new Postings(), new Postings()};
+
+        private Term(int id) {
+            this.id = id;
+        }
+
+        private int documentCount() {
+            return postings[NAME].size + postings[DESCRIPTION].size;
+        }
+
+        private float idf(int totalDocuments) {
+            return (float) Math.log(1 + (double) totalDocuments / documentCount());
+        }
+    }
+
+    /**
+     * Lista ordenada e sem repetição de documentos.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        private int at(int position) {
+            return position < size ? documents[position] : -1;
+        }
+
+        /**
+         * Primeira posição, a partir de {@code from}, com documento maior ou igual a
+         * {@code document}.
+         */
+        private int seek(int from, int document) {
+            if (from >= size) {
+                return size;
+            }
+            var bound = 1;
+            while (from + bound < size && documents[from + bound] < document) {
+                bound <<= 1;
+            }
+            var position = Arrays.binarySearch(documents, from + (bound >> 1), Math.min(from + bound + 1, size), document);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        private void add(int document) {
+            if (size > 0 && documents[size - 1] >= document) {
+                insert(document);
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        private void insert(int document) {
+            var position = Arrays.binarySearch(documents, 0, size, document);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            documents[position] = document;
+            size++;
+        }
+
+        private void remove(int document) {
+            var position = Arrays.binarySearch(documents, 0, size, document);
+            if (position >= 0) {
+                System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+                size--;
+            }
+        }
+    }
+}
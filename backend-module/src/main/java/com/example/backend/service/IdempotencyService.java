@@ -0,0 +1,231 @@
+package com.example.backend.service;
+
+import com.example.backend.cache.ExpiringLruCache;
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.entity.IdempotencyRecordEntity;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Garante que uma transferência enviada com a mesma {@code Idempotency-Key} seja executada
+ * uma única vez.
+ *
+ * <p>A chave é gravada na tabela {@code TRANSFERENCIA_IDEMPOTENCIA}, junto com a resposta, na mesma
+ * transação da transferência. A chave primária da tabela é o que impede a execução dupla, inclusive
+ * entre instâncias: se outra requisição gravou a chave antes, a transferência desta é desfeita e ela
+ * recebe a resposta já guardada. Se a gravação falhar por outro motivo, a transferência também é
+ * desfeita e a requisição falha, para que o cliente tente de novo com a mesma chave.
+ *
+ * <p>Respostas concluídas ficam também em um cache LRU com tempo de vida, e requisições simultâneas
+ * com a mesma chave nesta instância aguardam a primeira em vez de disputar a chave no banco. Falhas
+ * não são guardadas. Registros com mais de {@code ttl} são removidos a cada {@code purgeInterval}.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransferProperties.Idempotency properties;
+    private final ExpiringLruCache<String, StoredResponse> cache;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ObjectMapper objectMapper,
+            TransferProperties transferProperties) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.properties = transferProperties.getIdempotency();
+        this.cache = new ExpiringLruCache<>(properties.getCacheSize(), properties.getTtl());
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = properties.getPurgeInterval().toMillis();
+        this.purger.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * Executa {@code transfer} uma única vez por chave. {@code transfer} recebe a gravação da chave,
+     * que deve rodar na transação da transferência (ver {@link BenefitService#transfer(TransferRequest,
+     * java.util.function.Consumer)}).
+     */
+    public TransferResponse execute(
+            String key,
+            TransferRequest transferRequest,
+            Function<Consumer<TransferResponse>, TransferResponse> transfer) {
+        validateKey(key);
+        var fingerprint = fingerprintOf(transferRequest);
+
+        var stored = findStored(key);
+        if (stored != null) {
+            return stored.responseFor(fingerprint);
+        }
+
+        var pending = new InFlight(fingerprint, new CompletableFuture<>());
+        var running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            return await(running, fingerprint);
+        }
+
+        try {
+            stored = findStored(key);
+            var response = stored != null ? stored.responseFor(fingerprint) : claimAndRun(key, fingerprint, transfer);
+            pending.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Remove os registros expirados. Chaves expiradas ainda não removidas são liberadas na própria
+     * transação que as reutiliza.
+     */
+    void purgeExpired() {
+        try {
+            var removed = idempotencyRecordRepository.deleteAllExpired(expirationLimit());
+            if (removed > 0) {
+                logger.info("Removed {} expired idempotency keys", removed);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    private TransferResponse claimAndRun(
+            String key, String fingerprint, Function<Consumer<TransferResponse>, TransferResponse> transfer) {
+        try {
+            var response = transfer.apply(result -> claim(key, fingerprint, result));
+            cache.put(key, new StoredResponse(fingerprint, response));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição gravou a chave primeiro; esta transferência foi desfeita.
+            var winner = findStored(key);
+            if (winner == null) {
+                throw e;
+            }
+            return winner.responseFor(fingerprint);
+        }
+    }
+
+    private void claim(String key, String fingerprint, TransferResponse response) {
+        idempotencyRecordRepository.deleteExpired(key, expirationLimit());
+        idempotencyRecordRepository.saveAndFlush(
+                new IdempotencyRecordEntity(key, fingerprint, toJson(response), LocalDateTime.now()));
+    }
+
+    private LocalDateTime expirationLimit() {
+        return LocalDateTime.now().minus(properties.getTtl());
+    }
+
+    private StoredResponse findStored(String key) {
+        var cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        var stored = idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(expirationLimit()))
+                .map(record -> new StoredResponse(record.getRequestFingerprint(), fromJson(record.getResponse())))
+                .orElse(null);
+        if (stored != null) {
+            cache.put(key, stored);
+        }
+        return stored;
+    }
+
+    private TransferResponse await(InFlight running, String fingerprint) {
+        if (!running.fingerprint.equals(fingerprint)) {
+            throw keyReused();
+        }
+        try {
+            return running.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+    }
+
+    private String fingerprintOf(TransferRequest transferRequest) {
+        return transferRequest.getBenefitOriginId() + ":" +
+                transferRequest.getBenefitDestinationId() + ":" +
+                transferRequest.getValue().stripTrailingZeros().toPlainString();
+    }
+
+    private String toJson(TransferResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar a resposta da transferência", e);
+        }
+    }
+
+    private TransferResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, TransferResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível ler a resposta guardada da transferência", e);
+        }
+    }
+
+    private static BadRequestException keyReused() {
+        return new BadRequestException("Idempotency-Key já utilizada em uma transferência diferente");
+    }
+
+    private record StoredResponse(String fingerprint, TransferResponse response) {
+        TransferResponse responseFor(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw keyReused();
+            }
+            return response;
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<TransferResponse> future) {
+    }
+}
@@ -0,0 +1,564 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitBalance;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.dto.transfer.TransferOutcome;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.exception.BenefitConflictException;
+import com.example.backend.exception.BenefitNotFoundException;
+import com.example.backend.exception.ServiceOverloadedException;
+import com.example.backend.mapper.TransferMapper;
+import com.example.backend.money.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static com.example.backend.service.BenefitService.TRANSFER_CONFLICT_MESSAGE;
+import static com.example.backend.service.BenefitService.TRANSFER_SUCCESS_MESSAGE;
+import static com.example.backend.validation.BenefitValidator.validateActive;
+import static com.example.backend.validation.BenefitValidator.validateSufficientBalance;
+
+/**
+ * Motor opcional de transferências com saldos em memória e um único escritor por shard.
+ *
+ * <p>Cada benefício pertence a um shard ({@code id mod shards}), e só a thread do shard lê e altera
+ * o saldo dele em memória, sem locks. O saldo é lido do banco na primeira transferência que o
+ * envolve e mantido em memória, com a versão da linha, a partir daí.
+ *
+ * <p>A transferência vai para o menor dos shards dos dois benefícios, de modo que transferências
+ * entre o mesmo par, nos dois sentidos, sempre caem no mesmo shard. Se os benefícios são de shards
+ * diferentes, o shard da transferência pede o outro emprestado: o dono termina o lote em andamento,
+ * entrega seus saldos e fica parado até recebê-los de volta. Um shard só pede emprestados shards de
+ * índice maior que o seu, e em ordem crescente, então dois shards nunca esperam um pelo outro.
+ *
+ * <p>Cada shard aplica em memória tudo o que acumulou na fila e grava o resultado em uma só
+ * transação ({@link BenefitService#writeBalances}): uma gravação por benefício, por maior que
+ * seja o número de transferências do lote, e cada requisição recebe os saldos anterior e posterior
+ * da sua transferência. Com {@code linger} configurado, o shard espera essa janela por mais
+ * transferências antes de aplicar o lote.
+ *
+ * <p>O banco continua sendo a referência. Cada linha só é gravada se ainda estiver na versão lida
+ * pelo motor; se tiver sido alterada por fora dele (edição do benefício, outra instância), o saldo
+ * é relido e o lote refeito. Uma transferência recusada por saldo ou situação lidos da memória
+ * também relê o benefício antes de ser recusada.
+ *
+ * <p>A requisição aguarda o resultado por no máximo {@code timeout}. Se o shard ainda não tiver
+ * começado a aplicar a transferência, ela é descartada e a requisição recusada; transferências
+ * ainda na fila no desligamento também são recusadas. Uma falha inesperada em um lote desfaz a
+ * transação inteira, e cada transferência do lote é então refeita sozinha, para que só a
+ * transferência com problema receba o erro.
+ */
+@Component
+public class ShardedTransferEngine {
+
+    /**
+     * Tentativas de gravar um lote cujos benefícios foram alterados por fora do motor.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    private final BenefitService benefitService;
+    private final TransferMapper transferMapper;
+    private final TransferProperties.Engine properties;
+    private final List<Shard> shards = new ArrayList<>();
+    private volatile boolean accepting;
+
+    public ShardedTransferEngine(
+            @Lazy BenefitService benefitService,
+            TransferMapper transferMapper,
+            TransferProperties transferProperties) {
+        this.benefitService = benefitService;
+        this.transferMapper = transferMapper;
+        this.properties = transferProperties.getEngine();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.getShards(); i++) {
+            shards.add(new Shard(i, properties.getQueueCapacity(), properties.getMaxBatchSize(),
+                    properties.getLinger().toNanos()));
+        }
+        shards.forEach(Shard::start);
+        accepting = true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        accepting = false;
+        shards.forEach(shard -> shard.running = false);
+        shards.forEach(Shard::stop);
+    }
+
+    public boolean isEnabled() {
+        return !shards.isEmpty();
+    }
+
+    public TransferResponse transfer(TransferRequest transferRequest) {
+        return transfer(transferRequest, response -> {
+        });
+    }
+
+    /**
+     * Como {@link #transfer(TransferRequest)}, executando {@code beforeCommit} na transação do lote
+     * em que a transferência for aplicada com sucesso.
+     */
+    public TransferResponse transfer(TransferRequest transferRequest, Consumer<TransferResponse> beforeCommit) {
+        var command = new TransferCommand(transferRequest, Money.cents(transferRequest.getValue()), beforeCommit);
+        var shard = shards.get(Math.min(
+                shardOf(transferRequest.getBenefitOriginId()).index,
+                shardOf(transferRequest.getBenefitDestinationId()).index));
+
+        if (!accepting || !shard.queue.offer(command)) {
+            throw new ServiceOverloadedException("Fila de transferências cheia, tente novamente em instantes");
+        }
+        if (!accepting) {
+            shard.rejectPending();
+        }
+
+        var timeoutNanos = properties.getTimeout().toNanos();
+        try {
+            return await(command, timeoutNanos);
+        } catch (TimeoutException e) {
+            if (command.claim()) {
+                throw new ServiceOverloadedException(
+                        "Tempo esgotado aguardando o motor de transferências, a transferência não foi aplicada");
+            }
+        }
+
+        // O shard já está aplicando a transferência: aguarda o fim da transação.
+        try {
+            return await(command, timeoutNanos);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException(
+                    "Tempo esgotado aguardando o motor de transferências, situação da transferência desconhecida");
+        }
+    }
+
+    private Shard shardOf(Long benefitId) {
+        return shards.get(Math.floorMod(benefitId, shards.size()));
+    }
+
+    private static TransferResponse await(TransferCommand command, long timeoutNanos) throws TimeoutException {
+        try {
+            return command.future.get(timeoutNanos, TimeUnit.NANOSECONDS).getResponseOrThrow();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrompido aguardando o motor de transferências");
+        }
+    }
+
+    /**
+     * O que um shard recebe pela fila: transferências e pedidos de empréstimo de outros shards.
+     */
+    private sealed interface Message permits TransferCommand, Handoff {
+    }
+
+    private record TransferCommand(
+            TransferRequest request,
+            long cents,
+            Consumer<TransferResponse> beforeCommit,
+            CompletableFuture<TransferOutcome> future,
+            AtomicBoolean claimed
+    ) implements Message {
+        TransferCommand(TransferRequest request, long cents, Consumer<TransferResponse> beforeCommit) {
+            this(request, cents, beforeCommit, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        Long originId() {
+            return request.getBenefitOriginId();
+        }
+
+        Long destinationId() {
+            return request.getBenefitDestinationId();
+        }
+
+        /**
+         * Reserva o comando para quem chegar primeiro: o shard, que vai aplicá-lo, ou quem
+         * desiste dele (a requisição após o tempo limite, o desligamento).
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * Empréstimo de um shard a outro: o dono completa {@code granted} e fica parado até {@code released}.
+     */
+    private record Handoff(CompletableFuture<Void> granted, CompletableFuture<Void> released) implements Message {
+        Handoff() {
+            this(new CompletableFuture<>(), new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Saldo de um benefício em memória, em centavos, com a versão da linha em que foi lido ou gravado.
+     */
+    private record Balance(long cents, boolean active, long version) {
+    }
+
+    private class Shard implements Runnable {
+
+        private final int index;
+        private final BlockingQueue<Message> queue;
+        private final int maxBatchSize;
+        private final long lingerNanos;
+        private final Thread thread;
+
+        /**
+         * Acessado só pela thread do shard ou, durante um empréstimo, pela thread que o pediu.
+         */
+        private final Map<Long, Balance> balances = new HashMap<>();
+        private volatile boolean running = true;
+
+        Shard(int index, int queueCapacity, int maxBatchSize, long lingerNanos) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.maxBatchSize = maxBatchSize;
+            this.lingerNanos = lingerNanos;
+            this.thread = new Thread(this, "transfer-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void stop() {
+            running = false;
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rejectPending();
+        }
+
+        /**
+         * Recusa o que ficou na fila depois que o shard parou de consumi-la.
+         */
+        void rejectPending() {
+            var pending = new ArrayList<Message>();
+            queue.drainTo(pending);
+            for (var message : pending) {
+                if (message instanceof Handoff handoff) {
+                    handoff.granted.completeExceptionally(
+                            new ServiceOverloadedException("Motor de transferências encerrado"));
+                } else if (message instanceof TransferCommand command && command.claim()) {
+                    command.future.completeExceptionally(
+                            new ServiceOverloadedException("Motor de transferências encerrado, tente novamente"));
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            var batch = new ArrayList<TransferCommand>(maxBatchSize);
+            var handoffs = new ArrayList<Handoff>();
+            while (running || !queue.isEmpty()) {
+                try {
+                    var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    collect(first, batch, handoffs);
+                    batch.removeIf(command -> !command.claim());
+                    if (!batch.isEmpty()) {
+                        apply(batch);
+                    }
+                    handoffs.forEach(this::lend);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                    handoffs.clear();
+                }
+            }
+        }
+
+        /**
+         * Junta transferências até o tamanho máximo do lote ou o fim da janela de espera. Um pedido
+         * de empréstimo encerra a espera, para que o shard que o pediu não fique aguardando a janela.
+         */
+        private void collect(Message message, List<TransferCommand> batch, List<Handoff> handoffs)
+                throws InterruptedException {
+            var deadline = System.nanoTime() + lingerNanos;
+            var drained = new ArrayList<Message>();
+            while (true) {
+                drained.add(message);
+                queue.drainTo(drained, maxBatchSize - batch.size() - 1);
+                for (var received : drained) {
+                    if (received instanceof Handoff handoff) {
+                        handoffs.add(handoff);
+                    } else {
+                        batch.add((TransferCommand) received);
+                    }
+                }
+                drained.clear();
+
+                var remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatchSize || remaining <= 0 || !handoffs.isEmpty()) {
+                    return;
+                }
+                message = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (message == null) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Entrega os saldos do shard a quem os pediu e aguarda a devolução.
+         */
+        private void lend(Handoff handoff) {
+            if (handoff.granted.complete(null)) {
+                handoff.released.join();
+            }
+        }
+
+        /**
+         * Pede o shard emprestado. Retorna {@code null} se ele não for entregue dentro do tempo limite.
+         */
+        private Handoff borrow(long timeoutNanos) {
+            var handoff = new Handoff();
+            try {
+                if (!queue.offer(handoff, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+                handoff.granted.get(timeoutNanos, TimeUnit.NANOSECONDS);
+                return handoff;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Recusado no desligamento ou sem resposta a tempo.
+            }
+            // Se o dono entregou o shard entre o tempo esgotado e o cancelamento, o empréstimo vale.
+            return handoff.granted.cancel(false) ? null : handoff;
+        }
+
+        private void apply(List<TransferCommand> batch) {
+            var lenders = new TreeSet<Integer>();
+            for (var command : batch) {
+                lenders.add(shardOf(command.originId()).index);
+                lenders.add(shardOf(command.destinationId()).index);
+            }
+            lenders.remove(index);
+
+            var borrowed = new ArrayList<Handoff>();
+            var unavailable = new HashSet<Shard>();
+            try {
+                for (var lender : lenders) {
+                    var handoff = shards.get(lender).borrow(properties.getTimeout().toNanos());
+                    if (handoff == null) {
+                        unavailable.add(shards.get(lender));
+                    } else {
+                        borrowed.add(handoff);
+                    }
+                }
+
+                var ready = new ArrayList<TransferCommand>(batch.size());
+                for (var command : batch) {
+                    if (unavailable.contains(shardOf(command.originId()))
+                            || unavailable.contains(shardOf(command.destinationId()))) {
+                        command.future.completeExceptionally(new ServiceOverloadedException(
+                                "Motor de transferências indisponível, tente novamente em instantes"));
+                    } else {
+                        ready.add(command);
+                    }
+                }
+                if (!ready.isEmpty()) {
+                    commit(ready);
+                }
+            } finally {
+                borrowed.forEach(handoff -> handoff.released.complete(null));
+            }
+        }
+
+        private void commit(List<TransferCommand> batch) {
+            try {
+                for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                    var loaded = load(batch);
+                    var execution = new Execution();
+                    batch.forEach(command -> execution.run(command, loaded));
+
+                    if (!execution.suspects.isEmpty() && attempt < MAX_ATTEMPTS) {
+                        evict(execution.suspects);
+                        continue;
+                    }
+
+                    var conflicts = execution.applied.isEmpty()
+                            ? Set.<Long>of()
+                            : benefitService.writeBalances(
+                                    execution.written(), execution.transactions, execution::beforeCommit);
+                    if (conflicts.isEmpty()) {
+                        execution.publish();
+                        for (int i = 0; i < batch.size(); i++) {
+                            batch.get(i).future.complete(execution.outcomes.get(i));
+                        }
+                        return;
+                    }
+                    evict(conflicts);
+                }
+
+                batch.forEach(command -> command.future.complete(
+                        TransferOutcome.failure(new BenefitConflictException(TRANSFER_CONFLICT_MESSAGE))));
+            } catch (RuntimeException e) {
+                // A transação foi desfeita: o banco não mudou, mas os saldos são relidos por garantia.
+                batch.forEach(command -> evict(List.of(command.originId(), command.destinationId())));
+                if (batch.size() == 1) {
+                    batch.get(0).future.completeExceptionally(e);
+                    return;
+                }
+                batch.forEach(command -> commit(List.of(command)));
+            }
+        }
+
+        /**
+         * Lê do banco os saldos que ainda não estão em memória e retorna os IDs lidos.
+         */
+        private Set<Long> load(List<TransferCommand> batch) {
+            var missing = new TreeSet<Long>();
+            for (var command : batch) {
+                for (var id : List.of(command.originId(), command.destinationId())) {
+                    if (!shardOf(id).balances.containsKey(id)) {
+                        missing.add(id);
+                    }
+                }
+            }
+            if (missing.isEmpty()) {
+                return missing;
+            }
+
+            for (var balance : benefitService.loadBalances(missing)) {
+                shardOf(balance.id()).balances.put(balance.id(), new Balance(
+                        Money.cents(balance.value()), balance.active(), balance.version()));
+            }
+            return missing;
+        }
+
+        private void evict(Collection<Long> ids) {
+            ids.forEach(id -> shardOf(id).balances.remove(id));
+        }
+
+        /**
+         * Aplica um lote sobre cópias dos saldos em memória, que só são publicadas após o commit.
+         */
+        private class Execution {
+
+            private final Map<Long, Balance> working = new HashMap<>();
+            private final Set<Long> touched = new TreeSet<>();
+            private final Set<Long> suspects = new HashSet<>();
+            private final List<TransferOutcome> outcomes = new ArrayList<>();
+            private final List<TransactionalRequest> transactions = new ArrayList<>();
+            private final List<TransferCommand> applied = new ArrayList<>();
+            private final List<TransferResponse> responses = new ArrayList<>();
+
+            void run(TransferCommand command, Set<Long> loaded) {
+                var originId = command.originId();
+                var destinationId = command.destinationId();
+                try {
+                    var origin = find(originId, "origin");
+                    var destination = find(destinationId, "destination");
+                    var value = command.cents;
+
+                    try {
+                        validateActive(origin.active, "origin");
+                        validateActive(destination.active, "destination");
+                        validateSufficientBalance(origin.cents, value);
+                    } catch (BenefitConflictException e) {
+                        // Recusa baseada em saldo da memória: relê antes de recusar de vez.
+                        if (!loaded.contains(originId)) {
+                            suspects.add(originId);
+                        }
+                        if (!loaded.contains(destinationId)) {
+                            suspects.add(destinationId);
+                        }
+                        throw e;
+                    }
+
+                    var newOrigin = Math.subtractExact(origin.cents, value);
+                    var newDestination = Math.addExact(destination.cents, value);
+                    working.put(originId, new Balance(newOrigin, true, origin.version));
+                    working.put(destinationId, new Balance(newDestination, true, destination.version));
+                    touched.add(originId);
+                    touched.add(destinationId);
+
+                    var transaction = transferMapper.toTransaction(command.request,
+                            origin.cents, newOrigin, destination.cents, newDestination);
+                    var response = new TransferResponse(true, TRANSFER_SUCCESS_MESSAGE, transaction);
+                    transactions.add(transaction);
+                    applied.add(command);
+                    responses.add(response);
+                    outcomes.add(TransferOutcome.success(response));
+                } catch (BenefitConflictException | BenefitNotFoundException e) {
+                    outcomes.add(TransferOutcome.failure(e));
+                }
+            }
+
+            private Balance find(Long id, String type) {
+                var balance = working.get(id);
+                if (balance == null) {
+                    balance = shardOf(id).balances.get(id);
+                }
+                if (balance == null) {
+                    throw new BenefitNotFoundException(
+                            String.format("Benefício de %s não encontrado: %d", type, id));
+                }
+                return balance;
+            }
+
+            /**
+             * Uma gravação por benefício alterado, com a versão em que o saldo foi lido.
+             */
+            List<BenefitBalance> written() {
+                return touched.stream()
+                        .map(id -> {
+                            var balance = working.get(id);
+                            return new BenefitBalance(id, Money.toBigDecimal(balance.cents),
+                                    balance.active, balance.version);
+                        })
+                        .toList();
+            }
+
+            void beforeCommit() {
+                for (int i = 0; i < applied.size(); i++) {
+                    applied.get(i).beforeCommit.accept(responses.get(i));
+                }
+            }
+
+            void publish() {
+                for (var id : touched) {
+                    var balance = working.get(id);
+                    shardOf(id).balances.put(id, new Balance(balance.cents, balance.active, balance.version + 1));
+                }
+            }
+        }
+    }
+}
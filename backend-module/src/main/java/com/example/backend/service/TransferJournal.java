@@ -0,0 +1,204 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.mapper.TransferMapper;
+import com.example.backend.repository.TransferJournalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro das transferências realizadas, gravado em segundo plano.
+ *
+ * <p>Cada transferência é enfileirada somente depois do commit da sua transação, e uma thread
+ * própria grava os registros acumulados em lotes, fora do caminho da requisição. A fila é
+ * limitada: quando enche, quem registra aguarda espaço em vez de descartar o registro.
+ * Os registros pendentes são gravados no desligamento da aplicação; depois dele, cada registro
+ * é gravado na hora, por quem registra.
+ *
+ * <p>Um lote que falha é tentado de novo até {@code maxAttempts} vezes. Se ainda assim falhar, os
+ * registros são gravados um a um, e os que continuarem falhando vão para o arquivo
+ * {@code deadLetterFile}, uma linha JSON por registro, para serem reprocessados depois.
+ */
+@Component
+public class TransferJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferJournal.class);
+
+    private final TransferJournalRepository transferJournalRepository;
+    private final TransferMapper transferMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.Journal properties;
+    private final BlockingQueue<TransactionalRequest> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public TransferJournal(
+            TransferJournalRepository transferJournalRepository,
+            TransferMapper transferMapper,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            TransferProperties transferProperties) {
+        this.transferJournalRepository = transferJournalRepository;
+        this.transferMapper = transferMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = transferProperties.getJournal();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = new Thread(this::run, "transfer-journal");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public void record(TransactionalRequest transaction) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        AfterCommit.run(() -> enqueue(transaction));
+    }
+
+    /**
+     * Grava imediatamente todos os registros pendentes.
+     */
+    public void flush() {
+        var batch = new ArrayList<TransactionalRequest>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void enqueue(TransactionalRequest transaction) {
+        if (!running) {
+            write(List.of(transaction));
+            return;
+        }
+
+        try {
+            queue.put(transaction);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(transaction));
+            return;
+        }
+
+        // O desligamento pode ter esvaziado a fila entre a checagem acima e o put.
+        if (!running) {
+            flush();
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<TransactionalRequest>(properties.getBatchSize());
+        while (running) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TransactionalRequest> batch) {
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            try {
+                save(batch);
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao gravar {} registros de transferência, tentativa {} de {}",
+                        batch.size(), attempt, properties.getMaxAttempts(), e);
+            }
+            if (attempt < properties.getMaxAttempts() && !pause(attempt)) {
+                break;
+            }
+        }
+
+        for (var transaction : batch) {
+            try {
+                save(List.of(transaction));
+            } catch (RuntimeException e) {
+                deadLetter(transaction, e);
+            }
+        }
+    }
+
+    /**
+     * Converte a cada tentativa: entidades de uma transação desfeita podem ter ficado com ID.
+     */
+    private void save(List<TransactionalRequest> batch) {
+        var entries = batch.stream().map(transferMapper::toJournalEntry).toList();
+        transactionTemplate.executeWithoutResult(status -> transferJournalRepository.saveAll(entries));
+    }
+
+    private boolean pause(int attempt) {
+        try {
+            Thread.sleep(properties.getRetryDelay().multipliedBy(attempt).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void deadLetter(TransactionalRequest transaction, RuntimeException cause) {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(transaction);
+        } catch (IOException e) {
+            logger.error("Registro de transferência perdido, falha ao serializá-lo: origem={}, destino={}, valor={}",
+                    transaction.getBenefitOriginId(), transaction.getBenefitDestinationId(), transaction.getValue(), e);
+            return;
+        }
+
+        try {
+            Files.writeString(properties.getDeadLetterFile(), line + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logger.error("Registro de transferência enviado para {}: {}", properties.getDeadLetterFile(), line, cause);
+        } catch (IOException e) {
+            logger.error("Registro de transferência perdido, falha também no arquivo {}: {}",
+                    properties.getDeadLetterFile(), line, e);
+        }
+    }
+}
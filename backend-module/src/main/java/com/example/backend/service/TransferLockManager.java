@@ -0,0 +1,98 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa, dentro da JVM, as transferências que envolvem os mesmos benefícios antes de
+ * abrir a transação, evitando que a disputa vire conflito de versão no banco.
+ *
+ * <p>Os IDs são distribuídos em um conjunto fixo de locks. Os dois locks de uma transferência
+ * são sempre adquiridos em ordem crescente de stripe (como o min/max de IDs do
+ * {@code BenefitEjbService}), o que impede deadlock entre transferências em sentidos opostos.
+ */
+@Component
+public class TransferLockManager {
+
+    private final TransferProperties.Lock properties;
+    private final ReentrantLock[] stripes;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+
+    public TransferLockManager(TransferProperties transferProperties, MeterRegistry meterRegistry) {
+        this.properties = transferProperties.getLock();
+        this.stripes = new ReentrantLock[properties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        this.waitTimer = Timer.builder("benefit.transfer.lock.wait")
+                .description("Tempo de espera pelos locks de benefício antes da transferência")
+                .register(meterRegistry);
+        Gauge.builder("benefit.transfer.lock.queue", waiting, AtomicInteger::get)
+                .description("Transferências aguardando locks de benefício")
+                .register(meterRegistry);
+    }
+
+    public <T> T executeLocked(Long firstBenefitId, Long secondBenefitId, Supplier<T> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+
+        var firstStripe = stripeOf(firstBenefitId);
+        var secondStripe = stripeOf(secondBenefitId);
+        var first = stripes[Math.min(firstStripe, secondStripe)];
+        var second = firstStripe == secondStripe ? null : stripes[Math.max(firstStripe, secondStripe)];
+
+        var deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        var start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            acquire(first, deadline);
+            try {
+                if (second != null) {
+                    acquire(second, deadline);
+                }
+            } catch (RuntimeException e) {
+                first.unlock();
+                throw e;
+            }
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            return action.get();
+        } finally {
+            if (second != null) {
+                second.unlock();
+            }
+            first.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, long deadline) {
+        try {
+            if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new ServiceOverloadedException("Benefício com muitas transferências simultâneas, tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Transferência interrompida aguardando o benefício");
+        }
+    }
+
+    private int stripeOf(Long benefitId) {
+        return Math.floorMod(Long.hashCode(benefitId), stripes.length);
+    }
+}
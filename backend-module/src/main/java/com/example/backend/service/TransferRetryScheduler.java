@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.exception.BenefitConflictException;
+import com.example.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.example.backend.service.BenefitService.TRANSFER_CONFLICT_MESSAGE;
+
+/**
+ * Repete transferências que falharam por conflito de concorrência.
+ *
+ * <p>Cada tentativa é executada por inteiro pela ação recebida, que deve abrir a própria
+ * transação: uma tentativa nunca reaproveita o contexto de persistência da anterior. Entre
+ * tentativas a espera é sorteada entre zero e o backoff exponencial (full jitter), para que
+ * as transferências que colidiram não voltem a colidir no mesmo instante.
+ *
+ * <p>Os conflitos são contados por benefício em uma janela de tempo. Quando um benefício
+ * esgota o limite, novas transferências que o envolvem são recusadas sem tentar, em vez de
+ * aumentar a disputa pela mesma linha.
+ */
+@Component
+public class TransferRetryScheduler {
+
+    private static final String SATURATED_MESSAGE = "Benefício com muitos conflitos de concorrência, tente novamente";
+
+    private final TransferProperties.Retry properties;
+    private final Map<Long, ConflictWindow> conflictWindows = new ConcurrentHashMap<>();
+    private final Counter attempts;
+    private final Counter conflicts;
+    private final Counter exhausted;
+    private final Counter saturated;
+
+    public TransferRetryScheduler(TransferProperties transferProperties, MeterRegistry meterRegistry) {
+        this.properties = transferProperties.getRetry();
+
+        this.attempts = Counter.builder("benefit.transfer.retry.attempts")
+                .description("Tentativas de transferência, incluindo a primeira")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("benefit.transfer.retry.conflicts")
+                .description("Tentativas de transferência que falharam por conflito de concorrência")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("benefit.transfer.retry.giveups")
+                .description("Transferências abandonadas por conflito")
+                .tag("reason", "exhausted")
+                .register(meterRegistry);
+        this.saturated = Counter.builder("benefit.transfer.retry.giveups")
+                .description("Transferências abandonadas por conflito")
+                .tag("reason", "saturated")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Long originId, Long destinationId, Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            if (isSaturated(originId) || isSaturated(destinationId)) {
+                saturated.increment();
+                throw new ServiceOverloadedException(SATURATED_MESSAGE);
+            }
+
+            attempts.increment();
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                conflicts.increment();
+                recordConflict(originId);
+                recordConflict(destinationId);
+            }
+
+            if (attemptNumber >= properties.getMaxAttempts()) {
+                exhausted.increment();
+                throw new BenefitConflictException(TRANSFER_CONFLICT_MESSAGE);
+            }
+            backoff(attemptNumber);
+        }
+    }
+
+    private boolean isConflict(RuntimeException e) {
+        return e instanceof ConcurrencyFailureException
+                || e instanceof OptimisticLockException
+                || e instanceof PessimisticLockException;
+    }
+
+    private void backoff(int attemptNumber) {
+        var ceiling = Math.min(
+                properties.getMaxDelay().toNanos(),
+                properties.getBaseDelay().toNanos() << Math.min(attemptNumber - 1, 30));
+        if (ceiling <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenefitConflictException(TRANSFER_CONFLICT_MESSAGE);
+        }
+    }
+
+    private boolean isSaturated(Long benefitId) {
+        if (properties.getConflictBudget() <= 0) {
+            return false;
+        }
+
+        var window = conflictWindows.get(benefitId);
+        if (window == null) {
+            return false;
+        }
+
+        var now = System.nanoTime();
+        if (window.isExpired(now, properties.getBudgetWindow().toNanos())) {
+            conflictWindows.remove(benefitId, window);
+            return false;
+        }
+        return window.count() >= properties.getConflictBudget();
+    }
+
+    private void recordConflict(Long benefitId) {
+        if (properties.getConflictBudget() <= 0) {
+            return;
+        }
+
+        var windowNanos = properties.getBudgetWindow().toNanos();
+        conflictWindows.computeIfAbsent(benefitId, id -> new ConflictWindow())
+                .record(System.nanoTime(), windowNanos);
+    }
+
+    private static final class ConflictWindow {
+
+        private long start = System.nanoTime();
+        private int conflicts;
+
+        synchronized void record(long now, long windowNanos) {
+            if (now - start >= windowNanos) {
+                start = now;
+                conflicts = 0;
+            }
+            conflicts++;
+        }
+
+        synchronized boolean isExpired(long now, long windowNanos) {
+            return now - start >= windowNanos;
+        }
+
+        synchronized int count() {
+            return conflicts;
+        }
+    }
+}
@@ -2,26 +2,38 @@ package com.example.backend.validation;
 
 import com.example.backend.entity.BenefitEntity;
 import com.example.backend.exception.BenefitConflictException;
-
-import java.math.BigDecimal;
+import com.example.backend.money.Money;
 
 public class BenefitValidator {
 
     public static void validateBenefits(
             BenefitEntity origin,
             BenefitEntity destination,
-            BigDecimal value) {
+            long available,
+            long value) {
 
-        if (!origin.getActive()) {
-            throw new BenefitConflictException("Benefício de origin está inativo");
-        }
-        if (!destination.getActive()) {
-            throw new BenefitConflictException("Benefício de destination está inativo");
+        validateActive(origin, "origin");
+        validateActive(destination, "destination");
+        validateSufficientBalance(available, value);
+    }
+
+    public static void validateActive(BenefitEntity benefit, String type) {
+        validateActive(benefit.getActive(), type);
+    }
+
+    public static void validateActive(boolean active, String type) {
+        if (!active) {
+            throw new BenefitConflictException(String.format("Benefício de %s está inativo", type));
         }
-        if (origin.getValue().compareTo(value) < 0) {
-            throw new BenefitConflictException(
-                    String.format("Saldo insuficiente. Disponível: %.2f, Solicitado: %.2f",
-                            origin.getValue(), value));
+    }
+
+    /**
+     * Valores em centavos.
+     */
+    public static void validateSufficientBalance(long available, long value) {
+        if (available < value) {
+            throw new BenefitConflictException("Saldo insuficiente. Disponível: " + Money.format(available)
+                    + ", Solicitado: " + Money.format(value));
         }
     }
 }
@@ -0,0 +1,15 @@
+package com.example.backend.validation;
+
+import com.example.backend.exception.BadRequestException;
+
+public class PageValidator {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.backend.validation;
+
+import com.example.backend.exception.BadRequestException;
+
+public class SearchValidator {
+
+    public static final int MAX_SEARCH_RESULTS = 50;
+
+    public static void validateSearch(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Informe o prefixo do nome para a busca");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Quantidade de resultados deve estar entre 1 e " + MAX_SEARCH_RESULTS);
+        }
+    }
+
+    public static void validateTextSearch(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Informe as palavras para a busca");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Quantidade de resultados deve estar entre 1 e " + MAX_SEARCH_RESULTS);
+        }
+    }
+
+}
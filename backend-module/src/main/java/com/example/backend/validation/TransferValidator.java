@@ -2,8 +2,7 @@ package com.example.backend.validation;
 
 import com.example.backend.dto.transfer.TransferRequest;
 import com.example.backend.exception.BenefitConflictException;
-
-import java.math.BigDecimal;
+import com.example.backend.money.Money;
 
 public class TransferValidator {
 
@@ -12,9 +11,13 @@ public class TransferValidator {
             throw new BenefitConflictException("Origem e destino não podem ser iguais");
         }
 
-        if (transferRequest.getValue().compareTo(BigDecimal.ZERO) <= 0) {
+        if (transferRequest.getValue().signum() <= 0) {
             throw new BenefitConflictException("Valor deve ser maior que zero");
         }
+
+        if (!Money.isRepresentable(transferRequest.getValue())) {
+            throw new BenefitConflictException("Valor deve ter no máximo duas casas decimais");
+        }
     }
 
 }
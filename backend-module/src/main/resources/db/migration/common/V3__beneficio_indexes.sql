@@ -0,0 +1,5 @@
+-- Nome único: a checagem de duplicidade passa a ser feita pelo banco, no próprio INSERT/UPDATE.
+ALTER TABLE BENEFICIO ADD CONSTRAINT UK_BENEFICIO_NOME UNIQUE (NOME);
+
+-- Listagem de ativos ordenada por nome: varredura de faixa no índice, sem ordenação.
+CREATE INDEX IDX_BENEFICIO_ATIVO_NOME ON BENEFICIO (ATIVO, NOME);
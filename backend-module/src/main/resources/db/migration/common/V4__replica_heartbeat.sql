@@ -0,0 +1,7 @@
+-- Batimento gravado no primário e lido na réplica para medir o atraso da replicação.
+CREATE TABLE REPLICA_HEARTBEAT (
+  ID INTEGER PRIMARY KEY,
+  UPDATED_AT BIGINT NOT NULL
+);
+
+INSERT INTO REPLICA_HEARTBEAT (ID, UPDATED_AT) VALUES (1, 0);
@@ -0,0 +1,5 @@
+-- BENEFICIO: IDs explícitos aceitos (restauração de dados), descrição maior e ATIVO obrigatório.
+ALTER TABLE BENEFICIO ALTER COLUMN ID SET GENERATED BY DEFAULT;
+ALTER TABLE BENEFICIO ALTER COLUMN DESCRICAO SET DATA TYPE VARCHAR(500);
+UPDATE BENEFICIO SET ATIVO = TRUE WHERE ATIVO IS NULL;
+ALTER TABLE BENEFICIO ALTER COLUMN ATIVO SET NOT NULL;
@@ -1,5 +1,6 @@
+-- Mesmo esquema de db/migration/h2/V1__create_schema.sql, com AUTO_INCREMENT no lugar de IDENTITY.
 CREATE TABLE BENEFICIO (
-  ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  ID BIGINT AUTO_INCREMENT PRIMARY KEY,
   NOME VARCHAR(100) NOT NULL,
   DESCRICAO VARCHAR(255),
   VALOR DECIMAL(15,2) NOT NULL,
@@ -7,4 +8,4 @@ CREATE TABLE BENEFICIO (
   VERSION BIGINT DEFAULT 0,
   CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
\ No newline at end of file
+);
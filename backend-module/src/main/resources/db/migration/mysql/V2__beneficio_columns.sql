@@ -0,0 +1,4 @@
+-- BENEFICIO: descrição maior e ATIVO obrigatório. AUTO_INCREMENT já aceita IDs explícitos.
+ALTER TABLE BENEFICIO MODIFY DESCRICAO VARCHAR(500);
+UPDATE BENEFICIO SET ATIVO = TRUE WHERE ATIVO IS NULL;
+ALTER TABLE BENEFICIO MODIFY ATIVO BOOLEAN NOT NULL DEFAULT TRUE;
@@ -0,0 +1,12 @@
+-- Esquema original de db/schema.sql. Bancos criados por aquele script entram no Flyway com
+-- baseline nesta versão (spring.flyway.baseline-version=1) e recebem só as migrations seguintes.
+CREATE TABLE BENEFICIO (
+  ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  NOME VARCHAR(100) NOT NULL,
+  DESCRICAO VARCHAR(255),
+  VALOR DECIMAL(15,2) NOT NULL,
+  ATIVO BOOLEAN DEFAULT TRUE,
+  VERSION BIGINT DEFAULT 0,
+  CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
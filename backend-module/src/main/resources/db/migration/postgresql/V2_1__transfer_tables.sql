@@ -0,0 +1,28 @@
+CREATE TABLE BENEFICIO_BUCKET (
+  ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  BENEFICIO_ID BIGINT NOT NULL,
+  BUCKET INTEGER NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  CONSTRAINT UK_BENEFICIO_BUCKET UNIQUE (BENEFICIO_ID, BUCKET)
+);
+
+CREATE SEQUENCE TRANSFERENCIA_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE TRANSFERENCIA (
+  ID BIGINT PRIMARY KEY,
+  BENEFICIO_ORIGEM_ID BIGINT NOT NULL,
+  BENEFICIO_DESTINO_ID BIGINT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  SALDO_ANTERIOR_ORIGEM DECIMAL(15,2),
+  SALDO_NOVO_ORIGEM DECIMAL(15,2),
+  SALDO_ANTERIOR_DESTINO DECIMAL(15,2),
+  SALDO_NOVO_DESTINO DECIMAL(15,2),
+  CREATED_AT TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE TRANSFERENCIA_IDEMPOTENCIA (
+  CHAVE VARCHAR(100) PRIMARY KEY,
+  REQUISICAO VARCHAR(200) NOT NULL,
+  RESPOSTA VARCHAR(4000) NOT NULL,
+  CREATED_AT TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,109 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.mapper.BenefitMapper;
+import com.example.backend.repository.BenefitRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compara a leitura de uma página de benefícios hidratando entidades e usando a projeção
+ * {@link BenefitRepository#RESPONSE_PROJECTION}.
+ *
+ * <p>Os dois cenários leem as mesmas {@value #PAGE_SIZE} linhas em uma transação somente leitura,
+ * em um contexto Spring com H2 em memória. Os tempos e {@code gc.alloc.rate.norm} são por linha.
+ *
+ * <p>Executar com {@code main} (o {@link GCProfiler} reporta {@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenefitReadBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private BenefitRepository benefitRepository;
+    private BenefitMapper benefitMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void startContext() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .run();
+        benefitRepository = context.getBean(BenefitRepository.class);
+        benefitMapper = context.getBean(BenefitMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        benefitRepository.saveAll(IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new BenefitEntity("Benefício " + i, "Descrição " + i, new BigDecimal("1000.00")))
+                .toList());
+    }
+
+    @TearDown
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<BenefitResponse> entityHydration() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT b FROM BenefitEntity b WHERE b.id > :afterId ORDER BY b.id", BenefitEntity.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(benefitMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<BenefitResponse> responseProjection() {
+        return readOnly.execute(status -> benefitRepository.findPageAfterId(0L, Limit.of(PAGE_SIZE)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BenefitReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitText;
+import com.example.backend.repository.BenefitRepository;
+import com.example.backend.service.BenefitTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara a busca textual pelo {@link BenefitTextIndex} com uma varredura de todos os textos,
+ * equivalente em memória a um {@code LIKE '%termo%'} sobre nome e descrição.
+ *
+ * <p>O índice é carregado com {@value #BENEFITS} benefícios sintéticos: nomes e descrições
+ * sorteados de um vocabulário em português, com frequências desiguais, mais um código único por
+ * benefício. As consultas cobrem um termo raro (um resultado), um termo comum e dois termos
+ * combinados; todas pedem os {@value #LIMIT} mais relevantes.
+ *
+ * <p>Executar com {@code main} (o {@link GCProfiler} reporta {@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class BenefitTextSearchBenchmark {
+
+    private static final int BENEFITS = 1_000_000;
+    private static final int LIMIT = 20;
+
+    private static final String[] KINDS = {
+            "Vale", "Auxílio", "Plano", "Seguro", "Bolsa", "Reembolso", "Programa", "Crédito"
+    };
+    private static final String[] SUBJECTS = {
+            "Refeição", "Alimentação", "Transporte", "Saúde", "Odontológico", "Creche", "Educação",
+            "Academia", "Cultura", "Home Office", "Combustível", "Farmácia", "Vida", "Idiomas"
+    };
+    private static final String[] WORDS = {
+            "benefício", "mensal", "colaboradores", "crédito", "cartão", "rede", "credenciada",
+            "reembolso", "despesas", "dependentes", "cobertura", "nacional", "coparticipação",
+            "restaurantes", "supermercados", "ônibus", "metrô", "consultas", "exames", "medicamentos",
+            "curso", "graduação", "pós", "livros", "cinema", "teatro", "internet", "energia",
+            "cadeira", "ergonômica", "limite", "anual", "integral", "parcial", "proporcional",
+            "jornada", "estagiários", "diretoria", "filial", "matriz", "região", "sul", "norte"
+    };
+
+    @Param({"cod777777", "refeição", "saúde coparticipação"})
+    private String query;
+
+    private BenefitTextIndex benefitTextIndex;
+    private String[] foldedTexts;
+    private long[] ids;
+
+    @Setup
+    public void buildIndex() {
+        var benefitRepository = mock(BenefitRepository.class);
+        when(benefitRepository.streamAllTexts()).thenAnswer(invocation -> IntStream.range(0, BENEFITS)
+                .mapToObj(BenefitTextSearchBenchmark::benefit));
+        benefitTextIndex = new BenefitTextIndex(
+                benefitRepository, mock(PlatformTransactionManager.class), new BenefitCacheProperties());
+
+        var start = System.nanoTime();
+        benefitTextIndex.initialize();
+        System.out.printf("%nÍndice com %d benefícios carregado em %d ms%n",
+                BENEFITS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        foldedTexts = new String[BENEFITS];
+        ids = new long[BENEFITS];
+        for (var i = 0; i < BENEFITS; i++) {
+            var benefit = benefit(i);
+            foldedTexts[i] = fold(benefit.name() + " " + benefit.description());
+            ids[i] = benefit.id();
+        }
+    }
+
+    @Benchmark
+    public List<Long> invertedIndex() {
+        return benefitTextIndex.search(query, LIMIT, false);
+    }
+
+    @Benchmark
+    public List<Long> fullScan() {
+        var terms = fold(query).split(" ");
+        var result = new ArrayList<Long>(LIMIT);
+        for (var i = 0; i < foldedTexts.length && result.size() < LIMIT; i++) {
+            if (containsAll(foldedTexts[i], terms)) {
+                result.add(ids[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (var term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BenefitText benefit(int i) {
+        var random = new SplittableRandom(i);
+        var name = KINDS[skewed(random, KINDS.length)] + " " + SUBJECTS[skewed(random, SUBJECTS.length)] + " " + i;
+        var description = new StringBuilder("Código cod").append(i);
+        for (var w = 0; w < 8; w++) {
+            description.append(' ').append(WORDS[skewed(random, WORDS.length)]);
+        }
+        return new BenefitText((long) i + 1, name, description.toString(), random.nextInt(10) != 0);
+    }
+
+    /**
+     * Índices baixos saem com mais frequência, para que alguns termos sejam comuns e outros raros.
+     */
+    private static int skewed(SplittableRandom random, int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), 2));
+    }
+
+    private static String fold(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BenefitTextSearchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
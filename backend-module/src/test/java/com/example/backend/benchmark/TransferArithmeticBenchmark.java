@@ -0,0 +1,90 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a aritmética de uma transferência com {@link BigDecimal} e com centavos em {@code long},
+ * convertidos por {@link Money}.
+ *
+ * <p>Os cenários {@code *Transfer} reproduzem validação de saldo, débito, crédito e saldos
+ * anteriores, incluindo a conversão de/para {@link BigDecimal} nas bordas da entidade. Os
+ * cenários {@code *Rejection} montam a mensagem de saldo insuficiente.
+ *
+ * <p>Executar com {@code main} (o {@link GCProfiler} reporta {@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferArithmeticBenchmark {
+
+    private BigDecimal originValue = new BigDecimal("1000.00");
+    private BigDecimal originPending = new BigDecimal("0.00");
+    private BigDecimal destinationValue = new BigDecimal("250.00");
+    private BigDecimal destinationPending = new BigDecimal("0.00");
+    private BigDecimal amount = new BigDecimal("12.34");
+    private BigDecimal insufficientAmount = new BigDecimal("5000.00");
+
+    @Benchmark
+    public void bigDecimalTransfer(Blackhole blackhole) {
+        if (originValue.compareTo(amount) < 0) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(originValue.add(originPending));
+        blackhole.consume(destinationValue.add(destinationPending));
+        blackhole.consume(originValue.subtract(amount));
+        blackhole.consume(destinationValue.add(amount));
+    }
+
+    @Benchmark
+    public void moneyTransfer(Blackhole blackhole) {
+        var value = Money.cents(amount);
+        var originBalance = Money.cents(originValue);
+        if (originBalance < value) {
+            throw new IllegalStateException();
+        }
+        var destinationBalance = Money.cents(destinationValue);
+        blackhole.consume(Math.addExact(originBalance, Money.cents(originPending)));
+        blackhole.consume(Math.addExact(destinationBalance, Money.cents(destinationPending)));
+        blackhole.consume(Money.toBigDecimal(Math.subtractExact(originBalance, value)));
+        blackhole.consume(Money.toBigDecimal(Math.addExact(destinationBalance, value)));
+    }
+
+    @Benchmark
+    public String bigDecimalRejection() {
+        return String.format("Saldo insuficiente. Disponível: %.2f, Solicitado: %.2f",
+                originValue, insufficientAmount);
+    }
+
+    @Benchmark
+    public String moneyRejection() {
+        return "Saldo insuficiente. Disponível: " + Money.format(Money.cents(originValue))
+                + ", Solicitado: " + Money.format(Money.cents(insufficientAmount));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransferArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
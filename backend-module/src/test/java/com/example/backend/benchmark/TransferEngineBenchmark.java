@@ -0,0 +1,117 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.repository.BenefitRepository;
+import com.example.backend.service.BenefitService;
+import com.example.backend.service.ShardedTransferEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compara as transferências pelo caminho com locks por benefício ({@code LOCKING}) com o
+ * {@link ShardedTransferEngine}, sem ({@code SHARDED}) e com janela de espera ({@code SHARDED_LINGER}).
+ *
+ * <p>{@value #THREADS} threads transferem entre pares sorteados de {@code benefits} benefícios, por
+ * {@link BenefitService#transfer}, em um contexto Spring com H2 em memória: poucos benefícios
+ * concentram as transferências em linhas disputadas. O tempo é por transferência, do ponto de vista
+ * de quem chama; a vazão total é {@value #THREADS} dividido por ele.
+ *
+ * <p>Executar com {@code main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(TransferEngineBenchmark.THREADS)
+@Fork(1)
+public class TransferEngineBenchmark {
+
+    static final int THREADS = 8;
+
+    public enum Path {
+        LOCKING("--benefit.transfer.engine.enabled=false"),
+        SHARDED("--benefit.transfer.engine.enabled=true"),
+        SHARDED_LINGER("--benefit.transfer.engine.enabled=true", "--benefit.transfer.engine.linger=2ms");
+
+        /**
+         * Passados como argumentos para prevalecer sobre o {@code application.properties}.
+         */
+        private final String[] args;
+
+        Path(String... args) {
+            this.args = args;
+        }
+    }
+
+    @Param
+    private Path path;
+
+    @Param({"64", "4"})
+    private int benefits;
+
+    private ConfigurableApplicationContext context;
+    private BenefitService benefitService;
+    private List<Long> ids;
+
+    @Setup
+    public void startContext() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .run(path.args);
+        benefitService = context.getBean(BenefitService.class);
+
+        ids = context.getBean(BenefitRepository.class).saveAll(IntStream.range(0, benefits)
+                        .mapToObj(i -> new BenefitEntity("Benefício " + i, "Descrição " + i, new BigDecimal("1000000.00")))
+                        .toList())
+                .stream()
+                .map(BenefitEntity::getId)
+                .toList();
+    }
+
+    @TearDown
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        var random = ThreadLocalRandom.current();
+        var origin = random.nextInt(benefits);
+        var destination = (origin + 1 + random.nextInt(benefits - 1)) % benefits;
+        return benefitService.transfer(new TransferRequest(ids.get(origin), ids.get(destination), BigDecimal.ONE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransferEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -7,6 +7,9 @@ import java.math.BigDecimal;
 
 import static com.example.backend.fixture.BenefitFixture.*;
 import static com.example.backend.utils.BodyBuilder.with;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 
 public class BenefitControllerIT extends IntegrationTest {
@@ -18,6 +21,30 @@ public class BenefitControllerIT extends IntegrationTest {
                 .statusCode(200);
     }
 
+    @Test
+    public void shouldListEveryBenefitWhenPaginationIsNotRequested() {
+        for (int i = 0; i < 55; i++) {
+            postBenefit(with("name", "Benefício Listagem " + i)
+                    .and("description", "Listagem completa")
+                    .and("value", BigDecimal.TEN)
+                    .and("active", true))
+                    .then()
+                    .statusCode(201);
+        }
+
+        getAllBenefits()
+                .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", nullValue())
+                .body("size()", greaterThanOrEqualTo(55));
+
+        getBenefitsPage(50)
+                .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", notNullValue())
+                .body("size()", is(50));
+    }
+
     @Test
     public void shouldCreateBenefit() {
         var name = "Vale Alimentação";
@@ -78,7 +105,7 @@ public class BenefitControllerIT extends IntegrationTest {
 
     @Test
     public void shouldDeleteBenefitSuccessfully() {
-        var name = "Vale Transporte";
+        var name = "Vale Transporte Descontinuado";
         var description = "Benefício transporte";
         var value = new BigDecimal("300.00");
         var active = true;
@@ -0,0 +1,144 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.benefit.BenefitPage;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitVersion;
+import com.example.backend.service.AsyncTransferService;
+import com.example.backend.service.BenefitExportService;
+import com.example.backend.service.BenefitService;
+import com.example.backend.service.IdempotencyService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BenefitControllerTest {
+
+    @Mock
+    private BenefitService benefitService;
+
+    @Mock
+    private BenefitExportService benefitExportService;
+
+    @Mock
+    private AsyncTransferService asyncTransferService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new BenefitController(
+                benefitService, benefitExportService, asyncTransferService, idempotencyService)).build();
+    }
+
+    @Test
+    public void shouldSendStrongETagBuiltFromVersionAndValue() throws Exception {
+        when(benefitService.findById(1L)).thenReturn(benefit(3L, "100.00"));
+
+        mockMvc.perform(get("/api/beneficios/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-100.00\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenETagMatches() throws Exception {
+        when(benefitService.findVersionById(1L)).thenReturn(version(3L, "100.00"));
+
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "\"3-100.00\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-100.00\""))
+                .andExpect(content().string(""));
+        verify(benefitService, never()).findById(1L);
+    }
+
+    @Test
+    public void shouldAnswerOkWhenBenefitChangedSinceETag() throws Exception {
+        when(benefitService.findVersionById(1L)).thenReturn(version(4L, "90.00"));
+        when(benefitService.findById(1L)).thenReturn(benefit(4L, "90.00"));
+
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "\"3-100.00\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-90.00\""))
+                .andExpect(jsonPath("$.value").value(90.00));
+    }
+
+    @Test
+    public void shouldChangeETagWhenBucketCreditChangesValueWithoutNewVersion() throws Exception {
+        when(benefitService.findVersionById(1L)).thenReturn(version(3L, "125.00"));
+        when(benefitService.findById(1L)).thenReturn(benefit(3L, "125.00"));
+
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "\"3-100.00\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-125.00\""));
+    }
+
+    @Test
+    public void shouldUseWeakComparisonForIfNoneMatch() throws Exception {
+        when(benefitService.findVersionById(1L)).thenReturn(version(3L, "100.00"));
+        when(benefitService.findById(1L)).thenReturn(benefit(3L, "100.00"));
+
+        // If-None-Match compara de forma fraca: W/"x" corresponde ao ETag forte "x".
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-100.00\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-99.00\", \"3-100.00\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/beneficios/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-99.00\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForUnchangedPage() throws Exception {
+        var page = new BenefitPage(List.of(benefit(3L, "100.00")), null);
+        when(benefitService.findAllAtivos()).thenReturn(page);
+        var etag = "\"" + BenefitETags.of(page) + "\"";
+
+        mockMvc.perform(get("/api/beneficios/ativos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(get("/api/beneficios/ativos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void shouldChangePageETagWhenAnyItemOrCursorChanges() {
+        var page = new BenefitPage(List.of(benefit(3L, "100.00")), null);
+
+        assertEquals(BenefitETags.of(page), BenefitETags.of(new BenefitPage(List.of(benefit(3L, "100.00")), null)));
+        assertNotEquals(BenefitETags.of(page), BenefitETags.of(new BenefitPage(List.of(benefit(4L, "100.00")), null)));
+        assertNotEquals(BenefitETags.of(page), BenefitETags.of(new BenefitPage(List.of(benefit(3L, "75.00")), null)));
+        assertNotEquals(BenefitETags.of(page), BenefitETags.of(new BenefitPage(List.of(benefit(3L, "100.00")), "abc")));
+    }
+
+    private static BenefitResponse benefit(Long version, String value) {
+        return new BenefitResponse(1L, "Vale Refeição", null, new BigDecimal(value), true, version);
+    }
+
+    private static BenefitVersion version(Long version, String value) {
+        return new BenefitVersion(1L, version, new BigDecimal(value));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.backend.datasource;
+
+import com.example.backend.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private JdbcTemplate routed;
+
+    @Before
+    public void setup() {
+        var primaryDataSource = database("primary");
+        var replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        var properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        replicaLagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, properties, meterRegistry, clock);
+        routed = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry)));
+    }
+
+    @After
+    public void tearDown() {
+        replicaLagMonitor.stop();
+        primary.execute("DROP ALL OBJECTS");
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void shouldSendReadOnlyTransactionsToReplicaWithinLag() {
+        replicate();
+        clock.advance(Duration.ofSeconds(3));
+        replicaLagMonitor.check();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly(() -> routed.queryForObject("SELECT NAME FROM SOURCE", String.class)));
+        assertEquals("primary", routed.queryForObject("SELECT NAME FROM SOURCE", String.class));
+        assertEquals(1.0, meterRegistry.get("benefit.datasource.connections").tag("target", "replica").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldFallBackToPrimaryWhenReplicaLagsBehind() {
+        replicate();
+        clock.advance(Duration.ofSeconds(10));
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly(() -> routed.queryForObject("SELECT NAME FROM SOURCE", String.class)));
+        assertEquals(10.0, meterRegistry.get("benefit.datasource.replica.lag").gauge().value(), 0);
+
+        replicate();
+        replicaLagMonitor.check();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+    }
+
+    @Test
+    public void shouldFallBackToPrimaryWhenReplicaIsUnreachable() {
+        replicate();
+        replicaLagMonitor.check();
+        replica.execute("DROP TABLE REPLICA_HEARTBEAT");
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly(() -> routed.queryForObject("SELECT NAME FROM SOURCE", String.class)));
+    }
+
+    /**
+     * Copia o batimento do principal para a réplica, como a replicação faria.
+     */
+    private void replicate() {
+        replicaLagMonitor.check();
+        var heartbeat = primary.queryForObject(ReplicaLagMonitor.READ_HEARTBEAT, Long.class);
+        replica.update("UPDATE REPLICA_HEARTBEAT SET UPDATED_AT = ? WHERE ID = 1", heartbeat);
+    }
+
+    private static <T> T readOnly(Supplier<T> work) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return work.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static DataSource database(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE REPLICA_HEARTBEAT (ID INTEGER PRIMARY KEY, UPDATED_AT BIGINT NOT NULL)");
+        jdbc.execute("INSERT INTO REPLICA_HEARTBEAT (ID, UPDATED_AT) VALUES (1, 0)");
+        jdbc.execute("CREATE TABLE SOURCE (NAME VARCHAR(20))");
+        jdbc.update("INSERT INTO SOURCE (NAME) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -15,6 +15,14 @@ public class BenefitFixture {
                 .get();
     }
 
+    public static Response getBenefitsPage(Object limit) {
+        return given()
+                .basePath("/api/beneficios")
+                .queryParam("limit", limit)
+                .when()
+                .get();
+    }
+
     public static Response postBenefit(BodyBuilder body) {
         return given()
                 .basePath("/api/beneficios")
@@ -0,0 +1,135 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.repository.BenefitRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ActiveBenefitSnapshotTest {
+
+    @Mock
+    private BenefitRepository benefitRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActiveBenefitSnapshot activeBenefitSnapshot;
+
+    @Before
+    public void setup() {
+        when(benefitRepository.findAllActive()).thenReturn(List.of(
+                response(3L, "Vale Transporte", true),
+                response(1L, "Auxílio Creche", true),
+                response(2L, "Vale Refeição", true)
+        ));
+        activeBenefitSnapshot = new ActiveBenefitSnapshot(
+                benefitRepository, transactionManager, properties(Duration.ofMinutes(5)));
+    }
+
+    @After
+    public void tearDown() {
+        activeBenefitSnapshot.stop();
+    }
+
+    @Test
+    public void shouldPageByNameAfterCursor() {
+        assertEquals(List.of(1L, 2L), ids(activeBenefitSnapshot.pageAfter(null, null, 2)));
+        assertEquals(List.of(3L), ids(activeBenefitSnapshot.pageAfter("Vale Refeição", 2L, 2)));
+    }
+
+    @Test
+    public void shouldApplyRenamesAndDeactivationsWithoutReloadingEverything() throws Exception {
+        activeBenefitSnapshot.current();
+        when(benefitRepository.findResponsesByIdIn(any())).thenReturn(List.of(
+                response(1L, "Vale Alimentação", true),
+                response(3L, "Vale Transporte", false)
+        ));
+
+        var before = activeBenefitSnapshot.current();
+        activeBenefitSnapshot.refreshAfterCommit(List.of(1L, 3L));
+
+        verify(benefitRepository, timeout(1_000)).findResponsesByIdIn(any());
+        for (int i = 0; i < 100 && activeBenefitSnapshot.current() == before; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of(1L, 2L), ids(activeBenefitSnapshot.current()));
+        assertEquals("Vale Alimentação", activeBenefitSnapshot.current().get(0).getName());
+        assertEquals(3, before.size());
+        verify(benefitRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldRetryFailedRefreshWithBackoff() throws Exception {
+        activeBenefitSnapshot.current();
+        when(benefitRepository.findResponsesByIdIn(any()))
+                .thenThrow(new IllegalStateException("Banco indisponível"))
+                .thenReturn(List.of(response(2L, "Auxílio Academia", true)));
+
+        activeBenefitSnapshot.refreshAfterCommit(List.of(2L));
+
+        verify(benefitRepository, timeout(2_000).times(2)).findResponsesByIdIn(any());
+        awaitFirstName("Auxílio Academia");
+        assertEquals(List.of(2L, 1L, 3L), ids(activeBenefitSnapshot.current()));
+    }
+
+    @Test
+    public void shouldReloadPeriodicallyToPickUpOutsideWrites() throws Exception {
+        activeBenefitSnapshot.stop();
+        activeBenefitSnapshot = new ActiveBenefitSnapshot(
+                benefitRepository, transactionManager, properties(Duration.ofMillis(50)));
+        activeBenefitSnapshot.initialize();
+
+        when(benefitRepository.findAllActive()).thenReturn(List.of(
+                response(3L, "Vale Transporte", true),
+                response(4L, "Auxílio Academia", true)
+        ));
+
+        awaitFirstName("Auxílio Academia");
+        assertEquals(List.of(4L, 3L), ids(activeBenefitSnapshot.current()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldPublishImmutableLists() {
+        activeBenefitSnapshot.current().clear();
+    }
+
+    private void awaitFirstName(String name) throws InterruptedException {
+        for (int i = 0; i < 200 && !name.equals(activeBenefitSnapshot.current().get(0).getName()); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static BenefitCacheProperties properties(Duration reloadInterval) {
+        var properties = new BenefitCacheProperties();
+        properties.setReloadInterval(reloadInterval);
+        return properties;
+    }
+
+    private static List<Long> ids(List<BenefitResponse> benefits) {
+        return benefits.stream().map(BenefitResponse::getId).toList();
+    }
+
+    private static BenefitResponse response(Long id, String name, boolean active) {
+        return new BenefitResponse(id, name, null, BigDecimal.TEN, active, 0L);
+    }
+}
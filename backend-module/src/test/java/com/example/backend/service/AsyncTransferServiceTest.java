@@ -0,0 +1,99 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.dto.transfer.TransferStatus;
+import com.example.backend.dto.transfer.TransferStatusResponse;
+import com.example.backend.exception.BenefitConflictException;
+import com.example.backend.exception.TransferNotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncTransferServiceTest {
+
+    @Mock
+    private BenefitService benefitService;
+
+    private AsyncTransferService asyncTransferService;
+
+    @Before
+    public void setup() {
+        asyncTransferService = new AsyncTransferService(benefitService, new TransferProperties());
+    }
+
+    @After
+    public void tearDown() {
+        asyncTransferService.stop();
+    }
+
+    @Test
+    public void shouldCompleteSubmittedTransfer() throws Exception {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        when(benefitService.transfer(request)).thenReturn(new TransferResponse(true, "ok", null));
+
+        var submitted = asyncTransferService.submit(request);
+
+        assertNotNull(submitted.getId());
+        assertEquals(TransferStatus.COMPLETED, awaitCompletion(submitted.getId()).getStatus());
+    }
+
+    @Test
+    public void shouldReportFailedTransfer() throws Exception {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        when(benefitService.transfer(request)).thenThrow(new BenefitConflictException("Saldo insuficiente"));
+
+        var status = awaitCompletion(asyncTransferService.submit(request).getId());
+
+        assertEquals(TransferStatus.FAILED, status.getStatus());
+        assertEquals("Saldo insuficiente", status.getMessage());
+    }
+
+    @Test
+    public void shouldThrowWhenTransferIsUnknown() {
+        assertThrows(TransferNotFoundException.class, () -> asyncTransferService.findStatus("unknown"));
+    }
+
+    @Test
+    public void shouldDiscardLeastRecentlyUsedStatusesAboveCacheSize() throws Exception {
+        asyncTransferService.stop();
+        var properties = new TransferProperties();
+        properties.getAsync().setCacheSize(2);
+        asyncTransferService = new AsyncTransferService(benefitService, properties);
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        when(benefitService.transfer(request)).thenReturn(new TransferResponse(true, "ok", null));
+
+        var first = asyncTransferService.submit(request).getId();
+        awaitCompletion(first);
+        var second = asyncTransferService.submit(request).getId();
+        awaitCompletion(second);
+        var third = asyncTransferService.submit(request).getId();
+        awaitCompletion(third);
+
+        assertThrows(TransferNotFoundException.class, () -> asyncTransferService.findStatus(first));
+        assertEquals(TransferStatus.COMPLETED, asyncTransferService.findStatus(second).getStatus());
+        assertEquals(TransferStatus.COMPLETED, asyncTransferService.findStatus(third).getStatus());
+    }
+
+    private TransferStatusResponse awaitCompletion(String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var status = asyncTransferService.findStatus(id);
+            if (status.getCompletedAt() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Transferência não concluída");
+        return null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.entity.BenefitBucketEntity;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.repository.BenefitBucketRepository;
+import com.example.backend.repository.BenefitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BenefitBucketServiceTest {
+
+    private static final Long BUCKETED_ID = 2L;
+
+    @Mock
+    private BenefitBucketRepository benefitBucketRepository;
+
+    @Mock
+    private BenefitRepository benefitRepository;
+
+    private BenefitCache benefitCache = new BenefitCache(new BenefitCacheProperties(), new SimpleMeterRegistry());
+
+    private BenefitBucketService benefitBucketService;
+
+    @Before
+    public void setup() {
+        var properties = new TransferProperties();
+        properties.getBuckets().setBenefitIds(Set.of(BUCKETED_ID));
+        properties.getBuckets().setCount(4);
+        benefitBucketService = new BenefitBucketService(
+                benefitBucketRepository, benefitRepository, benefitCache, properties);
+    }
+
+    @Test
+    public void shouldRefuseCreditToInactiveBenefitWithExistingBuckets() {
+        when(benefitBucketRepository.creditIfActive(eq(BUCKETED_ID), any(), any())).thenReturn(0);
+        when(benefitRepository.findActiveByIdForUpdate(BUCKETED_ID)).thenReturn(Optional.empty());
+
+        assertFalse(benefitBucketService.credit(BUCKETED_ID, 1L, 1_000L));
+        verify(benefitBucketRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldCreateMissingBucketWhileHoldingBenefitLock() {
+        when(benefitBucketRepository.creditIfActive(eq(BUCKETED_ID), any(), any())).thenReturn(0);
+        when(benefitRepository.findActiveByIdForUpdate(BUCKETED_ID)).thenReturn(Optional.of(new BenefitEntity()));
+
+        assertTrue(benefitBucketService.credit(BUCKETED_ID, 1L, 1_000L));
+
+        var captor = ArgumentCaptor.forClass(BenefitBucketEntity.class);
+        verify(benefitBucketRepository).save(captor.capture());
+        assertEquals(BUCKETED_ID, captor.getValue().getBenefitId());
+        assertEquals(Integer.valueOf(1), captor.getValue().getBucket());
+        assertEquals(new BigDecimal("10.00"), captor.getValue().getValue());
+    }
+
+    @Test
+    public void shouldCreditBucketCreatedConcurrentlyInsteadOfInsertingItAgain() {
+        when(benefitBucketRepository.creditIfActive(eq(BUCKETED_ID), any(), any())).thenReturn(0, 1);
+        when(benefitRepository.findActiveByIdForUpdate(BUCKETED_ID)).thenReturn(Optional.of(new BenefitEntity()));
+
+        assertTrue(benefitBucketService.credit(BUCKETED_ID, 1L, 1_000L));
+        verify(benefitBucketRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldEvictCachedBenefitOnCredit() {
+        var cached = new BenefitResponse(BUCKETED_ID, "Vale Transporte", null, new BigDecimal("50.00"), true, 4L);
+        benefitCache.get(BUCKETED_ID, id -> Optional.of(cached));
+        when(benefitBucketRepository.creditIfActive(eq(BUCKETED_ID), any(), any())).thenReturn(1);
+
+        assertTrue(benefitBucketService.credit(BUCKETED_ID, 1L, 1_000L));
+        assertEquals(Optional.empty(), benefitCache.peek(BUCKETED_ID));
+    }
+
+    @Test
+    public void shouldAddBucketBalanceOnlyToBucketedBenefits() {
+        var plain = new BenefitResponse(1L, "Vale Refeição", null, new BigDecimal("100.00"), true, 3L);
+        var bucketed = new BenefitResponse(BUCKETED_ID, "Vale Transporte", null, new BigDecimal("50.00"), true, 4L);
+        when(benefitBucketRepository.sumByBenefitId(BUCKETED_ID)).thenReturn(new BigDecimal("25.00"));
+
+        var result = benefitBucketService.withPending(List.of(plain, bucketed));
+
+        assertSame(plain, result.get(0));
+        assertEquals(new BigDecimal("75.00"), result.get(1).getValue());
+        assertEquals(new BigDecimal("50.00"), bucketed.getValue());
+        verify(benefitBucketRepository, never()).sumByBenefitId(1L);
+    }
+
+    @Test
+    public void shouldNotQueryBucketsForPlainBenefits() {
+        var plain = List.of(new BenefitResponse(1L, "Vale Refeição", null, BigDecimal.TEN, true, 0L));
+        var entity = new BenefitEntity("Vale Refeição", null, BigDecimal.TEN);
+        entity.setId(1L);
+
+        assertSame(plain, benefitBucketService.withPending(plain));
+        benefitBucketService.loadPending(entity);
+
+        assertEquals(BigDecimal.ZERO, entity.getPendingValue());
+        verify(benefitBucketRepository, never()).sumByBenefitId(anyLong());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BenefitCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BenefitCache benefitCache;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        benefitCache = new BenefitCache(new BenefitCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    public void shouldServeRepeatedLookupsFromCacheAndCountThem() {
+        var response = response(0L, "100.00");
+
+        benefitCache.get(1L, id -> Optional.of(response));
+        var cached = benefitCache.get(1L, id -> {
+            throw new AssertionError("não deveria consultar o banco");
+        });
+
+        assertSame(response, cached.orElseThrow());
+        assertEquals(1, benefitCache.hitCount());
+        assertEquals(1, benefitCache.missCount());
+        assertEquals(1.0, meterRegistry.get("benefit.cache.gets").tag("result", "hit").functionCounter().count(), 0);
+    }
+
+    @Test
+    public void shouldNotCacheRowReadBeforeConcurrentWrite() {
+        benefitCache.get(1L, id -> {
+            benefitCache.evict(1L);
+            return Optional.of(response(0L, "100.00"));
+        });
+
+        var fresh = response(1L, "90.00");
+        var result = benefitCache.get(1L, id -> Optional.of(fresh));
+
+        assertSame(fresh, result.orElseThrow());
+        assertEquals(2, benefitCache.missCount());
+    }
+
+    @Test
+    public void shouldKeepNewerVersionWhenConcurrentReadsFinishOutOfOrder() {
+        var newer = response(2L, "80.00");
+
+        benefitCache.get(1L, id -> {
+            benefitCache.get(1L, nested -> Optional.of(newer));
+            return Optional.of(response(1L, "90.00"));
+        });
+
+        assertSame(newer, benefitCache.get(1L, id -> Optional.empty()).orElseThrow());
+    }
+
+    private static BenefitResponse response(Long version, String value) {
+        return new BenefitResponse(1L, "Vale Refeição", null, new BigDecimal(value), true, version);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.mapper.BenefitMapper;
+import com.example.backend.repository.BenefitBucketRepository;
+import com.example.backend.repository.BenefitRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static com.example.backend.repository.BenefitRepository.STREAM_FETCH_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BenefitExportServiceTest {
+
+    @Mock
+    private BenefitRepository benefitRepository;
+
+    @Mock
+    private BenefitBucketRepository benefitBucketRepository;
+
+    @Mock
+    private BenefitCache benefitCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BenefitExportService benefitExportService;
+
+    @Before
+    public void setup() {
+        benefitExportService = new BenefitExportService(
+                benefitRepository,
+                new BenefitMapper(),
+                new BenefitBucketService(
+                        benefitBucketRepository, benefitRepository, benefitCache, new TransferProperties()),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                entityManager);
+    }
+
+    @Test
+    public void shouldWriteOneJsonLinePerBenefitAndClearPersistenceContext() throws Exception {
+        var total = STREAM_FETCH_SIZE * 2 + 1;
+        when(benefitRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, total).mapToObj(id -> {
+            var entity = new BenefitEntity("Benefício " + id, "d", BigDecimal.TEN);
+            entity.setId((long) id);
+            return entity;
+        }));
+        var output = new ByteArrayOutputStream();
+
+        var exported = benefitExportService.exportAll(output);
+
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(total, exported);
+        assertEquals(total, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Benefício 1\""));
+        verify(entityManager, times(2)).clear();
+    }
+}
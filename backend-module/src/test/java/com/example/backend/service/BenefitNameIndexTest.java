@@ -0,0 +1,103 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitSuggestion;
+import com.example.backend.repository.BenefitRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BenefitNameIndexTest {
+
+    @Mock
+    private BenefitRepository benefitRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BenefitNameIndex benefitNameIndex;
+
+    @Before
+    public void setup() {
+        when(benefitRepository.findAllSuggestions()).thenReturn(List.of(
+                new BenefitSuggestion(3L, "Vale Transporte", true),
+                new BenefitSuggestion(1L, "Auxílio Creche", true),
+                new BenefitSuggestion(2L, "Vale Refeição", false),
+                new BenefitSuggestion(4L, "Valor Extra", true)
+        ));
+        benefitNameIndex = new BenefitNameIndex(benefitRepository, transactionManager, new BenefitCacheProperties());
+    }
+
+    @Test
+    public void shouldMatchPrefixIgnoringCaseAndAccents() {
+        assertEquals(List.of(2L, 3L, 4L), ids(benefitNameIndex.search("VAL", 10, false)));
+        assertEquals(List.of(2L, 3L), ids(benefitNameIndex.search("vale ", 10, false)));
+        assertEquals(List.of(1L), ids(benefitNameIndex.search("auxilio", 10, false)));
+        assertEquals(List.of(), ids(benefitNameIndex.search("xyz", 10, false)));
+    }
+
+    @Test
+    public void shouldLimitResultsAndFilterInactive() {
+        assertEquals(List.of(2L), ids(benefitNameIndex.search("val", 1, false)));
+        assertEquals(List.of(3L, 4L), ids(benefitNameIndex.search("val", 10, true)));
+    }
+
+    @Test
+    public void shouldApplyRenamesWithoutReloading() {
+        benefitNameIndex.search("val", 10, false);
+
+        benefitNameIndex.putAfterCommit(new BenefitSuggestion(3L, "Auxílio Transporte", true));
+        benefitNameIndex.putAfterCommit(new BenefitSuggestion(5L, "Vale Cultura", true));
+
+        assertEquals(List.of(1L, 3L), ids(benefitNameIndex.search("aux", 10, false)));
+        assertEquals(List.of(5L, 2L, 4L), ids(benefitNameIndex.search("val", 10, false)));
+        verify(benefitRepository, times(1)).findAllSuggestions();
+    }
+
+    @Test
+    public void shouldReconcileWithDatabaseOnReload() {
+        benefitNameIndex.search("val", 10, false);
+        when(benefitRepository.findAllSuggestions()).thenReturn(List.of(
+                new BenefitSuggestion(3L, "Auxílio Transporte", true),
+                new BenefitSuggestion(1L, "Auxílio Creche", true),
+                new BenefitSuggestion(2L, "Vale Refeição", false)
+        ));
+
+        benefitNameIndex.reload();
+
+        assertEquals(List.of(1L, 3L), ids(benefitNameIndex.search("aux", 10, false)));
+        assertEquals(List.of(2L), ids(benefitNameIndex.search("val", 10, false)));
+    }
+
+    @Test
+    public void shouldKeepUpdatesMadeDuringReload() {
+        benefitNameIndex.search("val", 10, false);
+        when(benefitRepository.findAllSuggestions()).thenAnswer(invocation -> {
+            benefitNameIndex.putAfterCommit(new BenefitSuggestion(3L, "Auxílio Transporte", true));
+            return List.of(
+                    new BenefitSuggestion(3L, "Vale Transporte", true),
+                    new BenefitSuggestion(1L, "Auxílio Creche", true)
+            );
+        });
+
+        benefitNameIndex.reload();
+
+        assertEquals(List.of(1L, 3L), ids(benefitNameIndex.search("aux", 10, false)));
+        assertEquals(List.of(), ids(benefitNameIndex.search("val", 10, false)));
+    }
+
+    private static List<Long> ids(List<BenefitSuggestion> suggestions) {
+        return suggestions.stream().map(BenefitSuggestion::getId).toList();
+    }
+}
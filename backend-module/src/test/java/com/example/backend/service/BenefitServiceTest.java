@@ -1,27 +1,54 @@
 package com.example.backend.service;
 
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitBalance;
 import com.example.backend.dto.benefit.BenefitRequest;
 import com.example.backend.dto.benefit.BenefitResponse;
+import com.example.backend.dto.benefit.BenefitVersion;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.dto.transfer.BatchTransferRequest;
 import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
 import com.example.backend.dto.transfer.TransferResult;
 import com.example.backend.entity.BenefitEntity;
+import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.BenefitConflictException;
 import com.example.backend.exception.BenefitNotFoundException;
 import com.example.backend.mapper.BenefitMapper;
 import com.example.backend.mapper.TransferMapper;
 import com.example.backend.repository.BenefitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.Assert.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,39 +65,157 @@ public class BenefitServiceTest {
     @Mock
     private TransferMapper transferMapper;
 
+    @Mock
+    private ShardedTransferEngine shardedTransferEngine;
+
+    @Mock
+    private TransferLockManager transferLockManager;
+
+    @Mock
+    private TransferRetryScheduler transferRetryScheduler;
+
+    @Mock
+    private BenefitBucketService benefitBucketService;
+
+    @Mock
+    private TransferJournal transferJournal;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Mock
+    private ActiveBenefitSnapshot activeBenefitSnapshot;
+
+    @Mock
+    private BenefitNameIndex benefitNameIndex;
+
+    @Mock
+    private BenefitTextIndex benefitTextIndex;
+
+    @Spy
+    private BenefitCache benefitCache = new BenefitCache(new BenefitCacheProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private BenefitService benefitService;
 
+    @Before
+    public void setup() {
+        lenient().when(benefitBucketService.withPending(anyList())).thenAnswer(returnsFirstArg());
+        lenient().when(benefitBucketService.withPending(any(BenefitResponse.class))).thenAnswer(returnsFirstArg());
+    }
+
     @Test
     public void shouldReturnAllBenefits() {
-        var entity = new BenefitEntity();
         var response = new BenefitResponse();
 
-        when(benefitRepository.findAll()).thenReturn(List.of(entity));
-        when(benefitMapper.toResponse(entity)).thenReturn(response);
+        when(benefitRepository.findPageAfterId(0L, Limit.of(51))).thenReturn(List.of(response));
+
+        var result = benefitService.findAll(null, 50);
+
+        assertEquals(List.of(response), result.getItems());
+        assertNull(result.getNextCursor());
+        verify(benefitMapper, never()).toResponse(any());
+    }
+
+    @Test
+    public void shouldReturnEveryBenefitWhenNotPaginated() {
+        var response = new BenefitResponse();
+
+        when(benefitRepository.findPageAfterId(0L, Limit.unlimited())).thenReturn(List.of(response));
 
         var result = benefitService.findAll();
 
-        assertEquals(1, result.size());
-        verify(benefitRepository).findAll();
+        assertEquals(List.of(response), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void shouldReturnEveryActiveBenefitWhenNotPaginated() {
+        var responses = List.of(new BenefitResponse(), new BenefitResponse());
+
+        when(activeBenefitSnapshot.pageAfter(null, null, Integer.MAX_VALUE)).thenReturn(responses);
+
+        var result = benefitService.findAllAtivos();
+
+        assertEquals(responses, result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void shouldReturnCursorForNextActivePage() {
+        var first = new BenefitResponse();
+        var second = new BenefitResponse();
+        second.setId(7L);
+        second.setName("Vale: Refeição");
+
+        when(activeBenefitSnapshot.pageAfter(null, null, 3)).thenReturn(List.of(first, second, new BenefitResponse()));
+
+        var page = benefitService.findAllAtivos(null, 2);
+
+        assertEquals(List.of(first, second), page.getItems());
+
+        benefitService.findAllAtivos(page.getNextCursor(), 2);
+
+        verify(activeBenefitSnapshot).pageAfter("Vale: Refeição", 7L, 3);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void shouldRejectMalformedCursor() {
+        benefitService.findAll("not-a-cursor", 50);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void shouldRejectPageSizeAboveMaximum() {
+        benefitService.findAll(null, 501);
     }
 
     @Test
     public void shouldFindBenefitById() {
-        var entity = new BenefitEntity();
         var response = new BenefitResponse();
 
-        when(benefitRepository.findById(1L)).thenReturn(Optional.of(entity));
-        when(benefitMapper.toResponse(entity)).thenReturn(response);
+        when(benefitRepository.findResponseById(1L)).thenReturn(Optional.of(response));
 
         var result = benefitService.findById(1L);
 
-        assertNotNull(result);
+        assertSame(response, result);
+        assertSame(response, benefitService.findById(1L));
+        verify(benefitRepository, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    public void shouldFindVersionFromCacheOrProjection() {
+        var response = new BenefitResponse(1L, "Vale Refeição", null, new BigDecimal("100.00"), true, 3L);
+        when(benefitRepository.findVersionById(2L))
+                .thenReturn(Optional.of(new BenefitVersion(2L, 5L, new BigDecimal("50.00"))));
+        when(benefitBucketService.withPending(any(BenefitVersion.class))).thenAnswer(returnsFirstArg());
+        when(benefitRepository.findResponseById(1L)).thenReturn(Optional.of(response));
+        benefitService.findById(1L);
+
+        assertEquals(new BenefitVersion(1L, 3L, new BigDecimal("100.00")), benefitService.findVersionById(1L));
+        assertEquals(new BenefitVersion(2L, 5L, new BigDecimal("50.00")), benefitService.findVersionById(2L));
+        verify(benefitRepository, never()).findVersionById(1L);
+        verify(benefitRepository, never()).findResponseById(2L);
+    }
+
+    @Test
+    public void shouldReadCachedQueriesFromPrimary() throws Exception {
+        var attributes = new AnnotationTransactionAttributeSource();
+
+        for (var method : List.of(
+                BenefitService.class.getMethod("findById", Long.class),
+                BenefitService.class.getMethod("findVersionById", Long.class),
+                BenefitService.class.getMethod("findAll"),
+                BenefitService.class.getMethod("findAll", String.class, int.class))) {
+            assertFalse(method.getName(), attributes.getTransactionAttribute(method, BenefitService.class).isReadOnly());
+        }
     }
 
     @Test
     public void shouldThrowExceptionWhenBenefitNotFound() {
-        when(benefitRepository.findById(1L)).thenReturn(Optional.empty());
+        when(benefitRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         assertThrows(BenefitNotFoundException.class,
                 () -> benefitService.findById(1L));
@@ -82,17 +227,19 @@ public class BenefitServiceTest {
         request.setName("Vale Transporte");
 
         var entity = new BenefitEntity();
+        entity.setId(1L);
         var response = new BenefitResponse();
 
-        when(benefitRepository.existsByName("Vale Transporte")).thenReturn(false);
         when(benefitMapper.toEntity(request)).thenReturn(entity);
-        when(benefitRepository.save(entity)).thenReturn(entity);
+        when(benefitRepository.saveAndFlush(entity)).thenReturn(entity);
         when(benefitMapper.toResponse(entity)).thenReturn(response);
 
         var result = benefitService.create(request);
 
         assertNotNull(result);
-        verify(benefitRepository).save(entity);
+        verify(benefitRepository).saveAndFlush(entity);
+        verify(activeBenefitSnapshot).refreshAfterCommit(List.of(1L));
+        verify(benefitNameIndex).putAfterCommit(any());
     }
 
     @Test
@@ -100,12 +247,52 @@ public class BenefitServiceTest {
         var request = new BenefitRequest();
         request.setName("Duplicado");
 
-        when(benefitRepository.existsByName("Duplicado")).thenReturn(true);
+        var entity = new BenefitEntity();
+        entity.setName("Duplicado");
+
+        when(benefitMapper.toEntity(request)).thenReturn(entity);
+        when(benefitRepository.saveAndFlush(entity)).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", null, "PUBLIC.UK_BENEFICIO_NOME_INDEX_1")));
+
+        var exception = assertThrows(BenefitConflictException.class,
+                () -> benefitService.create(request));
+        assertEquals("Já existe um benefício com o name informado: Duplicado", exception.getMessage());
+        verify(activeBenefitSnapshot, never()).refreshAfterCommit(any());
+    }
+
+    @Test
+    public void shouldRethrowOtherIntegrityViolations() {
+        var request = new BenefitRequest();
+        var entity = new BenefitEntity();
+
+        when(benefitMapper.toEntity(request)).thenReturn(entity);
+        when(benefitRepository.saveAndFlush(entity)).thenThrow(new DataIntegrityViolationException("nulo",
+                new ConstraintViolationException("nulo", null, null)));
 
-        assertThrows(BenefitConflictException.class,
+        assertThrows(DataIntegrityViolationException.class,
                 () -> benefitService.create(request));
     }
 
+    @Test
+    public void shouldRejectBlankSearchPrefix() {
+        assertThrows(BadRequestException.class,
+                () -> benefitService.search(" ", 10, false));
+        verify(benefitNameIndex, never()).search(any(), eq(10), eq(false));
+    }
+
+    @Test
+    public void shouldReturnTextSearchResultsInIndexOrder() {
+        when(benefitTextIndex.search("vale", 10, false)).thenReturn(List.of(3L, 1L));
+        when(benefitRepository.findResponsesByIdIn(List.of(3L, 1L))).thenReturn(List.of(
+                new BenefitResponse(1L, "Vale Refeição", null, BigDecimal.TEN, true, 0L),
+                new BenefitResponse(3L, "Vale Transporte", null, BigDecimal.TEN, true, 0L)
+        ));
+
+        var result = benefitService.searchText("vale", 10, false);
+
+        assertEquals(List.of(3L, 1L), result.stream().map(BenefitResponse::getId).toList());
+    }
+
     @Test
     public void shouldSoftDeleteBenefit() {
         var entity = new BenefitEntity();
@@ -139,7 +326,177 @@ public class BenefitServiceTest {
 
         benefitService.executeTransfer(request);
 
-        assertEquals(BigDecimal.valueOf(90), origin.getValue());
-        assertEquals(BigDecimal.valueOf(60), destination.getValue());
+        assertEquals(new BigDecimal("90.00"), origin.getValue());
+        assertEquals(new BigDecimal("60.00"), destination.getValue());
+    }
+
+    @Test
+    public void shouldExecuteBatchTransferReportingEachItem() {
+        var origin = new BenefitEntity();
+        origin.setId(1L);
+        origin.setValue(BigDecimal.valueOf(100));
+
+        var destination = new BenefitEntity();
+        destination.setId(2L);
+        destination.setValue(BigDecimal.valueOf(50));
+
+        var request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, BigDecimal.valueOf(30)),
+                new TransferRequest(1L, 2L, BigDecimal.valueOf(80)),
+                new TransferRequest(2L, 1L, BigDecimal.TEN)
+        ));
+
+        when(benefitRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(origin, destination));
+
+        var result = benefitService.transferBatch(request);
+
+        assertEquals(Integer.valueOf(3), result.getTotal());
+        assertEquals(Integer.valueOf(2), result.getSucceeded());
+        assertEquals(Integer.valueOf(1), result.getFailed());
+        assertTrue(result.getResults().get(0).getSuccess());
+        assertFalse(result.getResults().get(1).getSuccess());
+        assertTrue(result.getResults().get(2).getSuccess());
+        assertEquals(new BigDecimal("80.00"), origin.getValue());
+        assertEquals(new BigDecimal("70.00"), destination.getValue());
+        verify(benefitRepository).saveAll(any());
+    }
+
+    @Test
+    public void shouldExecuteConditionalTransferFromAffectedRows() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+
+        var origin = new BenefitEntity();
+        origin.setId(1L);
+        origin.setValue(BigDecimal.valueOf(90));
+
+        var destination = new BenefitEntity();
+        destination.setId(2L);
+        destination.setValue(BigDecimal.valueOf(60));
+
+        when(benefitRepository.debitIfSufficient(eq(1L), eq(new BigDecimal("10.00")), any())).thenReturn(1);
+        when(benefitRepository.creditIfActive(eq(2L), eq(new BigDecimal("10.00")), any())).thenReturn(1);
+        when(benefitRepository.findAllById(any())).thenReturn(List.of(origin, destination));
+
+        var result = benefitService.executeConditionalTransfer(request);
+
+        assertEquals(10_000L, result.getPreviousBalanceSource());
+        assertEquals(5_000L, result.getPreviousBalanceDestination());
+        verify(benefitRepository, never()).save(any(BenefitEntity.class));
+    }
+
+    @Test
+    public void shouldReportInsufficientBalanceWhenConditionalDebitAffectsNoRow() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+
+        var origin = new BenefitEntity();
+        origin.setId(1L);
+        origin.setValue(BigDecimal.ONE);
+
+        when(benefitRepository.debitIfSufficient(eq(1L), eq(new BigDecimal("10.00")), any())).thenReturn(0);
+        when(benefitRepository.findById(1L)).thenReturn(Optional.of(origin));
+
+        var exception = assertThrows(BenefitConflictException.class,
+                () -> benefitService.executeConditionalTransfer(request));
+
+        assertEquals("Saldo insuficiente. Disponível: 1.00, Solicitado: 10.00", exception.getMessage());
+        verify(benefitRepository, never()).creditIfActive(any(), any(), any());
+    }
+
+    @Test
+    public void shouldRouteTransferToShardedEngineWhenEnabled() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var response = new TransferResponse(true, "ok", null);
+
+        when(shardedTransferEngine.isEnabled()).thenReturn(true);
+        when(shardedTransferEngine.transfer(eq(request), any())).thenReturn(response);
+
+        assertSame(response, benefitService.transfer(request));
+        verify(benefitRepository, never()).findById(any());
+    }
+
+    @Test
+    public void shouldKeepBucketedBenefitsOutOfShardedEngine() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var response = new TransferResponse(true, "ok", null);
+
+        when(shardedTransferEngine.isEnabled()).thenReturn(true);
+        when(benefitBucketService.isBucketed(2L)).thenReturn(true);
+        when(transferRetryScheduler.execute(eq(1L), eq(2L), any())).thenReturn(response);
+
+        assertSame(response, benefitService.transfer(request));
+        verify(shardedTransferEngine, never()).transfer(any(), any());
+    }
+
+    @Test
+    public void shouldWriteNothingWhenEngineBalanceChangedOutsideIt() {
+        var status = new SimpleTransactionStatus();
+        var beforeCommit = mock(Runnable.class);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> i.<TransactionCallback<?>>getArgument(0).doInTransaction(status));
+        var balances = List.of(new BenefitBalance(1L, BigDecimal.TEN, true, 3L), new BenefitBalance(2L, BigDecimal.ONE, true, 5L));
+        when(benefitRepository.updateBalancesIfVersion(balances)).thenReturn(Set.of(2L));
+
+        var conflicts = benefitService.writeBalances(
+                balances,
+                List.of(new TransactionalRequest()),
+                beforeCommit);
+
+        assertEquals(Set.of(2L), conflicts);
+        assertTrue(status.isRollbackOnly());
+        verify(transferJournal, never()).record(any());
+        verify(beforeCommit, never()).run();
+    }
+
+    @Test
+    public void shouldCreditBucketInsteadOfDestinationRowWhenBucketed() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+
+        var origin = new BenefitEntity();
+        origin.setId(1L);
+        origin.setValue(BigDecimal.valueOf(100));
+
+        var destination = new BenefitEntity();
+        destination.setId(2L);
+        destination.setValue(BigDecimal.valueOf(50));
+
+        when(benefitRepository.findById(1L)).thenReturn(Optional.of(origin));
+        when(benefitRepository.findById(2L)).thenReturn(Optional.of(destination));
+        when(benefitBucketService.isBucketed(2L)).thenReturn(true);
+
+        var result = benefitService.executeTransfer(request);
+
+        assertEquals(new BigDecimal("90.00"), origin.getValue());
+        assertEquals(BigDecimal.valueOf(50), destination.getValue());
+        assertEquals(5_000L, result.getPreviousBalanceDestination());
+        verify(benefitBucketService).credit(destination, 1L, 1_000L);
+    }
+
+    @Test
+    public void shouldNetTransfersBetweenSamePairKeepingBalancesPerItem() {
+        var origin = new BenefitEntity();
+        origin.setId(1L);
+        origin.setValue(BigDecimal.valueOf(100));
+
+        var destination = new BenefitEntity();
+        destination.setId(2L);
+        destination.setValue(BigDecimal.valueOf(50));
+
+        when(benefitRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(origin, destination));
+
+        benefitService.applyTransfers(List.of(
+                new TransferRequest(1L, 2L, BigDecimal.TEN),
+                new TransferRequest(1L, 2L, BigDecimal.TEN),
+                new TransferRequest(1L, 2L, BigDecimal.TEN)
+        ));
+
+        var captor = ArgumentCaptor.forClass(TransferResult.class);
+        verify(transferMapper, times(3)).toTransaction(any(), captor.capture());
+        assertEquals(
+                List.of(10_000L, 9_000L, 8_000L),
+                captor.getAllValues().stream().map(TransferResult::getPreviousBalanceSource).toList());
+        assertEquals(new BigDecimal("70.00"), origin.getValue());
+        assertEquals(new BigDecimal("80.00"), destination.getValue());
+        verify(benefitRepository, times(1)).saveAll(any());
     }
 }
@@ -0,0 +1,109 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BenefitCacheProperties;
+import com.example.backend.dto.benefit.BenefitText;
+import com.example.backend.repository.BenefitRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BenefitTextIndexTest {
+
+    @Mock
+    private BenefitRepository benefitRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BenefitTextIndex benefitTextIndex;
+
+    @Before
+    public void setup() {
+        when(benefitRepository.streamAllTexts()).thenAnswer(invocation -> Stream.of(
+                new BenefitText(1L, "Vale Refeição", "Crédito para restaurantes", true),
+                new BenefitText(2L, "Vale Alimentação", "Compras em supermercados e refeição em casa", true),
+                new BenefitText(3L, "Auxílio Creche", "Reembolso de creche", false),
+                new BenefitText(4L, "Plano de Saúde", "Cobertura nacional com coparticipação", true)
+        ));
+        benefitTextIndex = new BenefitTextIndex(benefitRepository, transactionManager, new BenefitCacheProperties());
+    }
+
+    @Test
+    public void shouldTokenizeIgnoringAccentsCaseAndStopwords() {
+        assertEquals(Set.of("plano", "saude", "co", "participacao"),
+                BenefitTextIndex.tokenize("Plano de SAÚDE, com co-participação"));
+    }
+
+    @Test
+    public void shouldRankNameMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), benefitTextIndex.search("REFEICAO", 10, false));
+        assertEquals(List.of(2L), benefitTextIndex.search("refeição supermercados", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("refeição creche", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("de com", 10, false));
+    }
+
+    @Test
+    public void shouldLimitResultsAndFilterInactive() {
+        assertEquals(List.of(1L), benefitTextIndex.search("refeição", 1, false));
+        assertEquals(List.of(3L), benefitTextIndex.search("creche", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("creche", 10, true));
+    }
+
+    @Test
+    public void shouldReindexUpdatedBenefitsWithoutReloading() {
+        benefitTextIndex.search("vale", 10, false);
+
+        benefitTextIndex.putAfterCommit(new BenefitText(1L, "Vale Transporte", "Ônibus e metrô", true));
+        benefitTextIndex.putAfterCommit(new BenefitText(5L, "Vale Cultura", "Cinema e teatro", true));
+
+        assertEquals(List.of(2L), benefitTextIndex.search("refeicao", 10, false));
+        assertEquals(List.of(1L), benefitTextIndex.search("onibus", 10, false));
+        assertEquals(List.of(1L, 2L, 5L), benefitTextIndex.search("vale", 10, false));
+        verify(benefitRepository, times(1)).streamAllTexts();
+    }
+
+    @Test
+    public void shouldReconcileWithDatabaseOnReload() {
+        benefitTextIndex.search("vale", 10, false);
+        when(benefitRepository.streamAllTexts()).thenAnswer(invocation -> Stream.of(
+                new BenefitText(2L, "Vale Alimentação", "Compras em supermercados", true),
+                new BenefitText(6L, "Vale Cultura", "Cinema e teatro", true)
+        ));
+
+        benefitTextIndex.reload();
+
+        assertEquals(List.of(2L, 6L), benefitTextIndex.search("vale", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("refeicao", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("creche", 10, false));
+    }
+
+    @Test
+    public void shouldKeepUpdatesMadeDuringReload() {
+        benefitTextIndex.search("vale", 10, false);
+        when(benefitRepository.streamAllTexts()).thenAnswer(invocation -> {
+            benefitTextIndex.putAfterCommit(new BenefitText(1L, "Vale Transporte", "Ônibus e metrô", true));
+            return Stream.of(
+                    new BenefitText(1L, "Vale Refeição", "Crédito para restaurantes", true),
+                    new BenefitText(2L, "Vale Alimentação", "Compras em supermercados", true)
+            );
+        });
+
+        benefitTextIndex.reload();
+
+        assertEquals(List.of(1L), benefitTextIndex.search("onibus", 10, false));
+        assertEquals(List.of(), benefitTextIndex.search("restaurantes", 10, false));
+    }
+}
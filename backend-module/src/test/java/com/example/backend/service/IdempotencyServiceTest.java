@@ -0,0 +1,166 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.entity.IdempotencyRecordEntity;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @Before
+    public void setup() {
+        lenient().when(idempotencyRecordRepository.findById(any())).thenReturn(Optional.empty());
+        idempotencyService = new IdempotencyService(
+                idempotencyRecordRepository, new ObjectMapper().findAndRegisterModules(), new TransferProperties());
+    }
+
+    @After
+    public void tearDown() {
+        idempotencyService.stop();
+    }
+
+    @Test
+    public void shouldReturnStoredResponseForRepeatedKey() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var executions = new AtomicInteger();
+
+        var first = idempotencyService.execute("key-1", request, claim -> response(claim, executions));
+        var second = idempotencyService.execute("key-1", request, claim -> response(claim, executions));
+
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void shouldRejectKeyReusedWithDifferentTransfer() {
+        var executions = new AtomicInteger();
+        idempotencyService.execute("key-2", new TransferRequest(1L, 2L, BigDecimal.TEN), claim -> response(claim, executions));
+
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute(
+                "key-2", new TransferRequest(1L, 2L, BigDecimal.ONE), claim -> response(claim, executions)));
+    }
+
+    @Test
+    public void shouldMakeConcurrentDuplicateWaitForFirstExecution() throws Exception {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var executions = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+
+        var first = executor.submit(() -> idempotencyService.execute("key-3", request, claim -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(claim, executions);
+        }));
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        var duplicate = Executors.newSingleThreadExecutor().submit(
+                () -> idempotencyService.execute("key-3", request, claim -> response(claim, executions)));
+        release.countDown();
+
+        assertSame(first.get(1, TimeUnit.SECONDS), duplicate.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldFailRequestWhenKeyCannotBeSaved() {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var executions = new AtomicInteger();
+        when(idempotencyRecordRepository.saveAndFlush(any()))
+                .thenThrow(new QueryTimeoutException("Banco indisponível"))
+                .thenReturn(null);
+
+        assertThrows(QueryTimeoutException.class,
+                () -> idempotencyService.execute("key-4", request, claim -> response(claim, executions)));
+        idempotencyService.execute("key-4", request, claim -> response(claim, executions));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void shouldReturnResponseStoredByRequestThatClaimedKeyFirst() throws Exception {
+        var request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        var winner = new TransferResponse(true, "primeira", null);
+        var record = new IdempotencyRecordEntity(
+                "key-5", "1:2:10", new ObjectMapper().writeValueAsString(winner), LocalDateTime.now());
+        when(idempotencyRecordRepository.findById("key-5"))
+                .thenReturn(Optional.empty(), Optional.empty(), Optional.of(record));
+        when(idempotencyRecordRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Chave duplicada"));
+
+        var result = idempotencyService.execute(
+                "key-5", request, claim -> response(claim, new AtomicInteger()));
+
+        assertEquals("primeira", result.getMessage());
+    }
+
+    @Test
+    public void shouldReleaseExpiredKeyInsideTransferTransaction() {
+        idempotencyService.execute(
+                "key-6", new TransferRequest(1L, 2L, BigDecimal.TEN), claim -> response(claim, new AtomicInteger()));
+
+        var inOrder = inOrder(idempotencyRecordRepository);
+        inOrder.verify(idempotencyRecordRepository).deleteExpired(eq("key-6"), any());
+        inOrder.verify(idempotencyRecordRepository).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldPurgeRecordsOlderThanTtl() {
+        idempotencyService.purgeExpired();
+
+        var limit = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyRecordRepository).deleteAllExpired(limit.capture());
+        assertTrue(limit.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    /**
+     * Simula a transferência: grava a chave como se estivesse na transação e só então conclui.
+     */
+    private TransferResponse response(Consumer<TransferResponse> claim, AtomicInteger executions) {
+        executions.incrementAndGet();
+        var response = new TransferResponse(true, "ok", null);
+        claim.accept(response);
+        return response;
+    }
+}
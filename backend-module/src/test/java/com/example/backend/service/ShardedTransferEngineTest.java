@@ -0,0 +1,323 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.benefit.BenefitBalance;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.dto.transfer.TransferRequest;
+import com.example.backend.dto.transfer.TransferResponse;
+import com.example.backend.exception.BenefitConflictException;
+import com.example.backend.exception.BenefitNotFoundException;
+import com.example.backend.exception.ServiceOverloadedException;
+import com.example.backend.mapper.TransferMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShardedTransferEngineTest {
+
+    @Mock
+    private BenefitService benefitService;
+
+    /**
+     * Linhas da tabela de benefícios, gravadas com a mesma checagem de versão de
+     * {@link BenefitService#writeBalances}.
+     */
+    private final Map<Long, BenefitBalance> database = new ConcurrentHashMap<>();
+
+    private ShardedTransferEngine engine;
+
+    @Before
+    public void setup() {
+        lenient().when(benefitService.loadBalances(anyCollection())).thenAnswer(i -> load(i.getArgument(0)));
+        lenient().when(benefitService.writeBalances(anyList(), anyList(), any())).thenAnswer(i ->
+                write(i.getArgument(0), i.getArgument(2)));
+
+        engine = engine(2, Duration.ofMillis(200), Duration.ofSeconds(30));
+    }
+
+    @After
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    public void shouldApplyTransfersOnBalancesKeptInMemory() {
+        insert(1L, "100.00");
+        insert(2L, "50.00");
+
+        var first = engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)).getTransactional();
+        var second = engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)).getTransactional();
+
+        assertTrue(engine.isEnabled());
+        assertBalances(first, "100.00", "90.00", "50.00", "60.00");
+        assertBalances(second, "90.00", "80.00", "60.00", "70.00");
+        assertEquals(new BigDecimal("80.00"), database.get(1L).value());
+        assertEquals(Long.valueOf(3), database.get(1L).version());
+        verify(benefitService, times(1)).loadBalances(anyCollection());
+    }
+
+    @Test
+    public void shouldRejectTransferWithInsufficientBalance() {
+        insert(1L, "5.00");
+        insert(2L, "50.00");
+
+        var error = assertThrows(BenefitConflictException.class,
+                () -> engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)));
+
+        assertEquals("Saldo insuficiente. Disponível: 5.00, Solicitado: 10.00", error.getMessage());
+        verify(benefitService, never()).writeBalances(anyList(), anyList(), any());
+    }
+
+    @Test
+    public void shouldRejectTransferToUnknownBenefit() {
+        insert(1L, "100.00");
+
+        var error = assertThrows(BenefitNotFoundException.class,
+                () -> engine.transfer(new TransferRequest(1L, 9L, BigDecimal.TEN)));
+
+        assertEquals("Benefício de destination não encontrado: 9", error.getMessage());
+    }
+
+    @Test
+    public void shouldRereadBalanceBeforeRejectingTransferFromMemory() {
+        insert(1L, "100.00");
+        insert(2L, "0.00");
+        engine.transfer(new TransferRequest(1L, 2L, new BigDecimal("90.00")));
+        update(1L, "500.00");
+
+        var transaction = engine.transfer(new TransferRequest(1L, 2L, new BigDecimal("50.00"))).getTransactional();
+
+        assertBalances(transaction, "500.00", "450.00", "90.00", "140.00");
+        assertEquals(new BigDecimal("450.00"), database.get(1L).value());
+    }
+
+    @Test
+    public void shouldReapplyBatchWhenBenefitChangedOutsideEngine() {
+        insert(1L, "100.00");
+        insert(2L, "0.00");
+        engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN));
+        update(2L, "1000.00");
+
+        var transaction = engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)).getTransactional();
+
+        assertBalances(transaction, "90.00", "80.00", "1000.00", "1010.00");
+        assertEquals(new BigDecimal("1010.00"), database.get(2L).value());
+        verify(benefitService, times(3)).writeBalances(anyList(), anyList(), any());
+    }
+
+    @Test
+    public void shouldRunBeforeCommitOnlyForAppliedTransfers() throws Exception {
+        insert(1L, "100.00");
+        insert(2L, "50.00");
+        insert(3L, "0.00");
+        var committed = new ArrayList<TransferResponse>();
+
+        var executor = Executors.newFixedThreadPool(2);
+        var applied = executor.submit(() -> engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN), committed::add));
+        var rejected = executor.submit(() -> engine.transfer(new TransferRequest(3L, 2L, BigDecimal.TEN), committed::add));
+
+        var response = applied.get();
+        assertTrue(assertThrows(ExecutionException.class, rejected::get).getCause() instanceof BenefitConflictException);
+        assertEquals(List.of(response), committed);
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldIsolateUnexpectedFailureToItsOwnTransfer() throws Exception {
+        insert(1L, "100.00");
+        insert(2L, "100.00");
+        insert(3L, "100.00");
+        insert(4L, "100.00");
+        doAnswer(i -> {
+            List<TransactionalRequest> transactions = i.getArgument(1);
+            if (transactions.stream().anyMatch(transaction -> transaction.getBenefitOriginId() == 4L)) {
+                throw new IllegalStateException("Falha no banco");
+            }
+            return write(i.getArgument(0), i.getArgument(2));
+        }).when(benefitService).writeBalances(anyList(), anyList(), any());
+
+        var executor = Executors.newFixedThreadPool(2);
+        var healthy = executor.submit(() -> engine.transfer(new TransferRequest(2L, 1L, BigDecimal.TEN)));
+        var failing = executor.submit(() -> engine.transfer(new TransferRequest(4L, 3L, BigDecimal.ONE)));
+
+        assertBalances(healthy.get().getTransactional(), "100.00", "90.00", "100.00", "110.00");
+        var error = assertThrows(ExecutionException.class, failing::get);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals(new BigDecimal("100.00"), database.get(4L).value());
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldNetOppositeTransfersBetweenBenefitsOfDifferentShards() throws Exception {
+        engine.stop();
+        engine = engine(4, Duration.ofMillis(500), Duration.ofSeconds(30));
+        insert(1L, "100.00");
+        insert(2L, "100.00");
+
+        var executor = Executors.newFixedThreadPool(2);
+        var forward = executor.submit(() -> engine.transfer(new TransferRequest(1L, 2L, new BigDecimal("30.00"))));
+        var backward = executor.submit(() -> engine.transfer(new TransferRequest(2L, 1L, new BigDecimal("10.00"))));
+        forward.get();
+        backward.get();
+        executor.shutdown();
+
+        var written = ArgumentCaptor.forClass(List.class);
+        verify(benefitService, times(1)).writeBalances(written.capture(), anyList(), any());
+        assertEquals(2, written.getValue().size());
+        assertEquals(new BigDecimal("80.00"), database.get(1L).value());
+        assertEquals(new BigDecimal("120.00"), database.get(2L).value());
+        assertEquals(Long.valueOf(2), database.get(1L).version());
+    }
+
+    @Test
+    public void shouldKeepTotalBalanceAcrossConcurrentCrossShardTransfers() throws Exception {
+        engine.stop();
+        engine = engine(4, Duration.ZERO, Duration.ofSeconds(30));
+        for (long id = 1; id <= 8; id++) {
+            insert(id, "1000.00");
+        }
+
+        var executor = Executors.newFixedThreadPool(8);
+        var runs = new ArrayList<Future<?>>();
+        for (int thread = 0; thread < 8; thread++) {
+            runs.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < 300; i++) {
+                    var origin = 1L + random.nextInt(8);
+                    var destination = 1L + (origin + random.nextInt(7)) % 8;
+                    engine.transfer(new TransferRequest(origin, destination, BigDecimal.ONE));
+                }
+                return null;
+            }));
+        }
+        for (var run : runs) {
+            run.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        var total = database.values().stream().map(BenefitBalance::value).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(new BigDecimal("8000.00"), total);
+    }
+
+    @Test
+    public void shouldDropTransferNotStartedBeforeTimeout() throws Exception {
+        engine.stop();
+        engine = engine(1, Duration.ZERO, Duration.ofMillis(200));
+        insert(1L, "100.00");
+        insert(2L, "100.00");
+        insert(3L, "100.00");
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            started.countDown();
+            release.await();
+            return write(i.getArgument(0), i.getArgument(2));
+        }).when(benefitService).writeBalances(anyList(), anyList(), any());
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var blocking = executor.submit(() -> engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ServiceOverloadedException.class,
+                    () -> engine.transfer(new TransferRequest(3L, 2L, BigDecimal.ONE)));
+
+            release.countDown();
+            assertBalances(blocking.get().getTransactional(), "100.00", "90.00", "100.00", "110.00");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertEquals(new BigDecimal("100.00"), database.get(3L).value());
+    }
+
+    @Test
+    public void shouldRejectTransfersAfterStop() {
+        engine.stop();
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> engine.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)));
+        verify(benefitService, never()).writeBalances(anyList(), anyList(), any());
+    }
+
+    private ShardedTransferEngine engine(int shards, Duration linger, Duration timeout) {
+        var properties = new TransferProperties();
+        properties.getEngine().setEnabled(true);
+        properties.getEngine().setShards(shards);
+        properties.getEngine().setLinger(linger);
+        properties.getEngine().setTimeout(timeout);
+        var engine = new ShardedTransferEngine(benefitService, new TransferMapper(), properties);
+        engine.start();
+        return engine;
+    }
+
+    private void insert(Long id, String value) {
+        database.put(id, new BenefitBalance(id, new BigDecimal(value), true, 1L));
+    }
+
+    /**
+     * Alteração feita por fora do motor, que também incrementa a versão da linha.
+     */
+    private void update(Long id, String value) {
+        database.compute(id, (key, row) -> new BenefitBalance(id, new BigDecimal(value), row.active(), row.version() + 1));
+    }
+
+    private List<BenefitBalance> load(Collection<Long> ids) {
+        return ids.stream().map(database::get).filter(row -> row != null).toList();
+    }
+
+    private synchronized Set<Long> write(List<BenefitBalance> balances, Runnable beforeCommit) {
+        var conflicts = new TreeSet<Long>();
+        balances.stream()
+                .filter(balance -> !database.get(balance.id()).version().equals(balance.version()))
+                .forEach(balance -> conflicts.add(balance.id()));
+        if (!conflicts.isEmpty()) {
+            return conflicts;
+        }
+
+        beforeCommit.run();
+        balances.forEach(balance -> database.put(balance.id(),
+                new BenefitBalance(balance.id(), balance.value(), balance.active(), balance.version() + 1)));
+        return conflicts;
+    }
+
+    private static void assertBalances(TransactionalRequest transaction, String previousOrigin, String newOrigin,
+                                       String previousDestination, String newDestination) {
+        assertEquals(new BigDecimal(previousOrigin), transaction.getPreviousBalanceSource());
+        assertEquals(new BigDecimal(newOrigin), transaction.getNewBalanceOrigin());
+        assertEquals(new BigDecimal(previousDestination), transaction.getPreviousBalanceDestination());
+        assertEquals(new BigDecimal(newDestination), transaction.getNewDestinationBalance());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.dto.transaction.TransactionalRequest;
+import com.example.backend.mapper.TransferMapper;
+import com.example.backend.repository.TransferJournalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransferJournalTest {
+
+    @Mock
+    private TransferJournalRepository transferJournalRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TransferProperties properties;
+    private TransferJournal transferJournal;
+
+    @Before
+    public void setup() {
+        doAnswer(i -> {
+            i.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        properties = new TransferProperties();
+        properties.getJournal().setRetryDelay(Duration.ofMillis(1));
+        properties.getJournal().setDeadLetterFile(folder.getRoot().toPath().resolve("dead-letter.ndjson"));
+        transferJournal = new TransferJournal(transferJournalRepository, new TransferMapper(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), transactionTemplate, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWritePendingEntriesInOneBatchOnFlush() {
+        transferJournal.record(transaction(1L, 2L));
+        transferJournal.record(transaction(2L, 3L));
+
+        transferJournal.flush();
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(transferJournalRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    public void shouldRetryFailedBatch() {
+        when(transferJournalRepository.saveAll(any()))
+                .thenThrow(new IllegalStateException("Conexão perdida"))
+                .thenReturn(List.of());
+        transferJournal.record(transaction(1L, 2L));
+
+        transferJournal.flush();
+
+        verify(transferJournalRepository, times(2)).saveAll(any());
+        assertFalse(Files.exists(properties.getJournal().getDeadLetterFile()));
+    }
+
+    @Test
+    public void shouldSendEntriesThatKeepFailingToDeadLetterFile() throws Exception {
+        when(transferJournalRepository.saveAll(any())).thenThrow(new IllegalStateException("Banco indisponível"));
+        transferJournal.record(transaction(1L, 2L));
+        transferJournal.record(transaction(2L, 3L));
+
+        transferJournal.flush();
+
+        var lines = Files.readAllLines(properties.getJournal().getDeadLetterFile());
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"benefitOriginId\":1"));
+        assertTrue(lines.get(1).contains("\"benefitOriginId\":2"));
+    }
+
+    @Test
+    public void shouldWriteImmediatelyAfterStop() {
+        properties.getJournal().setQueueCapacity(1);
+        transferJournal = new TransferJournal(transferJournalRepository, new TransferMapper(),
+                new ObjectMapper(), transactionTemplate, properties);
+        transferJournal.stop();
+
+        transferJournal.record(transaction(1L, 2L));
+        transferJournal.record(transaction(2L, 3L));
+
+        verify(transferJournalRepository, times(2)).saveAll(any());
+    }
+
+    private TransactionalRequest transaction(Long originId, Long destinationId) {
+        return new TransactionalRequest(originId, destinationId, BigDecimal.TEN,
+                BigDecimal.valueOf(100), BigDecimal.valueOf(90),
+                BigDecimal.valueOf(50), BigDecimal.valueOf(60),
+                LocalDateTime.now());
+    }
+}
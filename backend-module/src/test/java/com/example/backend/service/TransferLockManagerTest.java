@@ -0,0 +1,63 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TransferLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferLockManager lockManager;
+
+    @Before
+    public void setup() {
+        var properties = new TransferProperties();
+        properties.getLock().setStripes(16);
+        properties.getLock().setTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new TransferLockManager(properties, meterRegistry);
+    }
+
+    @Test
+    public void shouldRunActionHoldingLocksAndRecordWait() {
+        var result = lockManager.executeLocked(2L, 1L, () -> "ok");
+
+        assertEquals("ok", result);
+        assertEquals(1, meterRegistry.timer("benefit.transfer.lock.wait").count());
+        assertEquals(0.0, meterRegistry.get("benefit.transfer.lock.queue").gauge().value(), 0.0);
+    }
+
+    @Test
+    public void shouldRejectWhenBenefitIsHeldPastTimeout() throws Exception {
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> lockManager.executeLocked(1L, 2L, () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+
+        try {
+            assertTrue(holding.await(1, TimeUnit.SECONDS));
+            assertThrows(ServiceOverloadedException.class,
+                    () -> lockManager.executeLocked(2L, 3L, () -> "late"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import com.example.backend.config.TransferProperties;
+import com.example.backend.entity.BenefitEntity;
+import com.example.backend.exception.BenefitConflictException;
+import com.example.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TransferRetrySchedulerTest {
+
+    private TransferProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TransferRetryScheduler retryScheduler;
+
+    @Before
+    public void setup() {
+        properties = new TransferProperties();
+        properties.getRetry().setBaseDelay(Duration.ofMillis(1));
+        properties.getRetry().setMaxDelay(Duration.ofMillis(2));
+        meterRegistry = new SimpleMeterRegistry();
+        retryScheduler = new TransferRetryScheduler(properties, meterRegistry);
+    }
+
+    @Test
+    public void shouldRetryAfterConflictAndRecordAttempts() {
+        var calls = new AtomicInteger();
+
+        var result = retryScheduler.execute(1L, 2L, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw conflict();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2.0, meterRegistry.counter("benefit.transfer.retry.attempts").count(), 0.0);
+        assertEquals(1.0, meterRegistry.counter("benefit.transfer.retry.conflicts").count(), 0.0);
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() {
+        var calls = new AtomicInteger();
+
+        var exception = assertThrows(BenefitConflictException.class,
+                () -> retryScheduler.execute(1L, 2L, () -> {
+                    calls.incrementAndGet();
+                    throw conflict();
+                }));
+
+        assertEquals(BenefitService.TRANSFER_CONFLICT_MESSAGE, exception.getMessage());
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.counter("benefit.transfer.retry.giveups", "reason", "exhausted").count(), 0.0);
+    }
+
+    @Test
+    public void shouldFailFastWhenBenefitExhaustsConflictBudget() {
+        properties.getRetry().setMaxAttempts(1);
+        properties.getRetry().setConflictBudget(2);
+        properties.getRetry().setBudgetWindow(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(BenefitConflictException.class,
+                    () -> retryScheduler.execute(1L, 2L, () -> {
+                        throw conflict();
+                    }));
+        }
+
+        var calls = new AtomicInteger();
+        assertThrows(ServiceOverloadedException.class,
+                () -> retryScheduler.execute(3L, 1L, calls::incrementAndGet));
+
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.counter("benefit.transfer.retry.giveups", "reason", "saturated").count(), 0.0);
+        assertEquals("ok", retryScheduler.execute(3L, 4L, () -> "ok"));
+    }
+
+    @Test
+    public void shouldNotRetryBusinessErrors() {
+        var calls = new AtomicInteger();
+
+        assertThrows(BenefitConflictException.class,
+                () -> retryScheduler.execute(1L, 2L, () -> {
+                    calls.incrementAndGet();
+                    throw new BenefitConflictException("Saldo insuficiente");
+                }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.counter("benefit.transfer.retry.conflicts").count(), 0.0);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(BenefitEntity.class, 1L);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.ejb;
+
+import com.example.ejb.dto.TransferInstruction;
+import com.example.ejb.exception.TransferOverloadedException;
+import com.example.ejb.lock.LockStrategy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous front end for {@link BenefitEjbService#transfer}.
+ *
+ * <p>Transfers run on the container's managed executor, at most {@code maxConcurrency} at a
+ * time; up to {@code queueCapacity} more wait in memory. Beyond that the returned stage fails
+ * immediately with {@link TransferOverloadedException}, so overload is visible to the caller
+ * instead of turning into threads blocked on row locks. Each transfer runs in its own
+ * transaction, started by {@link BenefitEjbService}.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class BenefitAsyncTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenefitAsyncTransferService.class);
+
+    @EJB
+    private BenefitEjbService benefitEjbService;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ExecutorService executor;
+
+    @Resource(name = "asyncTransferMaxConcurrency")
+    private int maxConcurrency = 16;
+
+    @Resource(name = "asyncTransferQueueCapacity")
+    private int queueCapacity = 1_000;
+
+    private final Queue<PendingTransfer> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public CompletionStage<TransferInstruction> transferAsync(TransferInstruction transfer) {
+        return transferAsync(transfer, null);
+    }
+
+    /**
+     * Submits a transfer. The stage completes with the transfer once it is committed, or
+     * exceptionally with the {@code BeneficioException} that rejected it. A {@code null}
+     * strategy uses the deployment default.
+     */
+    public CompletionStage<TransferInstruction> transferAsync(
+            TransferInstruction transfer,
+            LockStrategy strategy
+    ) {
+
+        var limit = maxConcurrency + queueCapacity;
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            logger.warn(
+                    "Async transfer rejected, limit reached. limit={}, fromBenefitId={}, toBenefitId={}",
+                    limit, transfer.fromBenefitId(), transfer.toBenefitId()
+            );
+            return CompletableFuture.failedFuture(new TransferOverloadedException(limit));
+        }
+
+        var result = new CompletableFuture<TransferInstruction>();
+        pending.add(new PendingTransfer(transfer, strategy, result));
+        dispatch();
+
+        return result;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void dispatch() {
+        while (!pending.isEmpty()) {
+            var current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            var next = pending.poll();
+            if (next == null) {
+                running.decrementAndGet();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> run(next));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Managed executor rejected async transfer: {}", next.transfer());
+                release();
+                next.result().completeExceptionally(new TransferOverloadedException(maxConcurrency + queueCapacity));
+            }
+        }
+    }
+
+    private void run(PendingTransfer next) {
+        var transfer = next.transfer();
+        Exception failure = null;
+        try {
+            if (next.strategy() == null) {
+                benefitEjbService.transfer(transfer.fromBenefitId(), transfer.toBenefitId(), transfer.amount());
+            } else {
+                benefitEjbService.transfer(
+                        transfer.fromBenefitId(), transfer.toBenefitId(), transfer.amount(), next.strategy());
+            }
+        } catch (Exception e) {
+            logger.debug("Async transfer failed: {}", transfer, e);
+            failure = e;
+        } finally {
+            release();
+        }
+
+        if (failure == null) {
+            next.result().complete(transfer);
+        } else {
+            next.result().completeExceptionally(failure);
+        }
+        dispatch();
+    }
+
+    private void release() {
+        running.decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    private record PendingTransfer(
+            TransferInstruction transfer,
+            LockStrategy strategy,
+            CompletableFuture<TransferInstruction> result
+    ) {
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.ejb;
 
+import com.example.ejb.dto.TransferInstruction;
 import com.example.ejb.entity.Benefit;
 import com.example.ejb.exception.*;
+import com.example.ejb.lock.LockStrategy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PessimisticLockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Stateless
 @TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -19,15 +35,49 @@ public class BenefitEjbService {
 
     private static final Logger logger = LoggerFactory.getLogger(BenefitEjbService.class);
 
-    @PersistenceContext(unitName = "benefitPU")
+    @PersistenceContext(unitName = "beneficioPU")
     private EntityManager entityManager;
 
+    /**
+     * Deployment-wide default lock strategy, overridable with the {@code lockStrategy}
+     * env-entry. Callers can still pick a strategy per call.
+     */
+    @Resource(name = "lockStrategy")
+    private String lockStrategy = LockStrategy.PESSIMISTIC.name();
+
+    private LockStrategy defaultLockStrategy = LockStrategy.PESSIMISTIC;
+
+    /**
+     * Parses the {@code lockStrategy} env-entry once, so a misconfigured deployment fails at
+     * startup instead of on the first transfer.
+     */
+    @PostConstruct
+    void resolveLockStrategy() {
+        try {
+            defaultLockStrategy = LockStrategy.valueOf(lockStrategy.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                    "Invalid lockStrategy env-entry: " + lockStrategy
+                            + ", expected one of " + Arrays.toString(LockStrategy.values()), e);
+        }
+    }
+
     public void transfer(Long fromBenefitId, Long toBenefitId, BigDecimal amount)
-            throws BenefitException {
+            throws BeneficioException {
+
+        transfer(fromBenefitId, toBenefitId, amount, defaultLockStrategy);
+    }
+
+    public void transfer(
+            Long fromBenefitId,
+            Long toBenefitId,
+            BigDecimal amount,
+            LockStrategy strategy
+    ) throws BeneficioException {
 
         logger.info(
-                "Starting transfer: fromBenefitId={} toBenefitId={} amount={}",
-                fromBenefitId, toBenefitId, amount
+                "Starting transfer: fromBenefitId={} toBenefitId={} amount={} lockStrategy={}",
+                fromBenefitId, toBenefitId, amount, strategy
         );
 
         validateTransferInputs(fromBenefitId, toBenefitId, amount);
@@ -40,20 +90,18 @@ public class BenefitEjbService {
                 firstLockId, secondLockId
         );
 
-        var first =
-                entityManager.find(Benefit.class, firstLockId, LockModeType.PESSIMISTIC_WRITE);
+        var first = lock(firstLockId, strategy);
 
-        var second =
-                entityManager.find(Benefit.class, secondLockId, LockModeType.PESSIMISTIC_WRITE);
+        var second = lock(secondLockId, strategy);
 
         if (first == null) {
             logger.warn("Benefit not found: {}", firstLockId);
-            throw new BenefitNotFoundException(firstLockId);
+            throw new BeneficioNaoEncontradoException(firstLockId);
         }
 
         if (second == null) {
             logger.warn("Benefit not found: {}", secondLockId);
-            throw new BenefitNotFoundException(secondLockId);
+            throw new BeneficioNaoEncontradoException(secondLockId);
         }
 
         var source =
@@ -83,6 +131,7 @@ public class BenefitEjbService {
 
         entityManager.merge(source);
         entityManager.merge(destination);
+        flush();
 
         logger.info(
                 "Transfer completed successfully. Source: {} -> {}, Destination: {} -> {}",
@@ -93,6 +142,146 @@ public class BenefitEjbService {
         );
     }
 
+    /**
+     * Applies a list of transfers in a single transaction.
+     *
+     * <p>Every benefit involved is locked by one {@code SELECT ... WHERE ID IN (...) ORDER BY ID
+     * FOR UPDATE}, so the lock order is the same as in {@link #transfer} and a settlement job
+     * pays one lock round-trip instead of two per transfer. Transfers are applied in memory in
+     * the given order and the updates are flushed together, batched by
+     * {@code hibernate.jdbc.batch_size}. Any failure rolls back the whole batch.
+     */
+    public List<TransferInstruction> transferBatch(List<TransferInstruction> transfers)
+            throws BeneficioException {
+
+        return transferBatch(transfers, defaultLockStrategy);
+    }
+
+    /**
+     * Same as {@link #transferBatch(List)} with an explicit lock strategy.
+     *
+     * <p>With {@link LockStrategy#SKIP_LOCKED} the rows held by other transactions are not
+     * waited for: transfers touching them are left out and returned so the caller can submit
+     * them again later. Other strategies always return an empty list.
+     */
+    public List<TransferInstruction> transferBatch(
+            List<TransferInstruction> transfers,
+            LockStrategy strategy
+    ) throws BeneficioException {
+
+        if (transfers == null || transfers.isEmpty()) {
+            throw new IllegalArgumentException("Transfer batch must not be empty");
+        }
+
+        logger.info("Starting batch transfer: size={} lockStrategy={}", transfers.size(), strategy);
+
+        var ids = new TreeSet<Long>();
+        for (var transfer : transfers) {
+            validateTransferInputs(transfer.fromBenefitId(), transfer.toBenefitId(), transfer.amount());
+            ids.add(transfer.fromBenefitId());
+            ids.add(transfer.toBenefitId());
+        }
+
+        logger.debug("Acquiring locks for {} benefits in id order", ids.size());
+
+        var benefits = lockAll(ids, strategy);
+
+        var missing = ids.stream().filter(id -> !benefits.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            var skipped = strategy == LockStrategy.SKIP_LOCKED ? findExistingIds(missing) : Set.<Long>of();
+            for (var id : missing) {
+                if (!skipped.contains(id)) {
+                    logger.warn("Benefit not found: {}", id);
+                    throw new BeneficioNaoEncontradoException(id);
+                }
+            }
+            logger.debug("Skipped benefits locked by other transactions: {}", skipped);
+        }
+
+        var deferred = new ArrayList<TransferInstruction>();
+
+        for (var transfer : transfers) {
+            var source = benefits.get(transfer.fromBenefitId());
+            var destination = benefits.get(transfer.toBenefitId());
+
+            if (source == null || destination == null) {
+                deferred.add(transfer);
+                continue;
+            }
+
+            validateActiveBenefit(source, "source", transfer.fromBenefitId());
+            validateActiveBenefit(destination, "destination", transfer.toBenefitId());
+            validateSufficientBalance(source, transfer.amount());
+
+            source.setValue(source.getValue().subtract(transfer.amount()));
+            destination.setValue(destination.getValue().add(transfer.amount()));
+        }
+
+        flush();
+
+        logger.info(
+                "Batch transfer completed successfully. transfers={}, deferred={}, benefits={}",
+                transfers.size() - deferred.size(), deferred.size(), ids.size()
+        );
+
+        return deferred;
+    }
+
+    private Benefit lock(Long benefitId, LockStrategy strategy) throws BenefitLockedException {
+        Benefit benefit;
+        try {
+            benefit = entityManager.find(Benefit.class, benefitId, strategy.getLockMode(), strategy.getHints());
+        } catch (PessimisticLockException | LockTimeoutException e) {
+            logger.warn("Benefit is locked by another transaction. id={}, lockStrategy={}", benefitId, strategy);
+            throw new BenefitLockedException(benefitId);
+        }
+
+        if (benefit == null
+                && strategy == LockStrategy.SKIP_LOCKED
+                && entityManager.find(Benefit.class, benefitId) != null) {
+            logger.warn("Benefit skipped, locked by another transaction. id={}", benefitId);
+            throw new BenefitLockedException(benefitId);
+        }
+
+        return benefit;
+    }
+
+    private Map<Long, Benefit> lockAll(Collection<Long> ids, LockStrategy strategy)
+            throws BenefitLockedException {
+
+        var query = entityManager
+                .createQuery("SELECT b FROM Benefit b WHERE b.id IN :ids ORDER BY b.id", Benefit.class)
+                .setParameter("ids", ids)
+                .setLockMode(strategy.getLockMode());
+        strategy.getHints().forEach(query::setHint);
+
+        try {
+            return query.getResultList()
+                    .stream()
+                    .collect(Collectors.toMap(Benefit::getId, Function.identity()));
+        } catch (PessimisticLockException | LockTimeoutException e) {
+            logger.warn("Benefits are locked by another transaction. ids={}, lockStrategy={}", ids, strategy);
+            throw new BenefitLockedException(ids);
+        }
+    }
+
+    private Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(entityManager
+                .createQuery("SELECT b.id FROM Benefit b WHERE b.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private void flush() throws BenefitLockedException {
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            var benefitId = e.getEntity() instanceof Benefit benefit ? benefit.getId() : null;
+            logger.warn("Benefit changed by another transaction. id={}", benefitId);
+            throw new BenefitLockedException(benefitId);
+        }
+    }
+
     private void validateTransferInputs(
             Long fromBenefitId,
             Long toBenefitId,
@@ -134,28 +323,28 @@ public class BenefitEjbService {
             Benefit benefit,
             String role,
             Long benefitId
-    ) throws InactiveBenefitException {
+    ) throws BeneficioInativoException {
 
         if (!benefit.isActive()) {
             logger.warn(
                     "Benefit is inactive. role={}, id={}",
                     role, benefitId
             );
-            throw new InactiveBenefitException(benefitId, role);
+            throw new BeneficioInativoException(benefitId, role);
         }
     }
 
     private void validateSufficientBalance(
             Benefit source,
             BigDecimal amount
-    ) throws InsufficientBalanceException {
+    ) throws SaldoInsuficienteException {
 
         if (source.getValue().compareTo(amount) < 0) {
             logger.warn(
                     "Insufficient balance. Available={}, Requested={}",
                     source.getValue(), amount
             );
-            throw new InsufficientBalanceException(
+            throw new SaldoInsuficienteException(
                     source.getValue(),
                     amount
             );
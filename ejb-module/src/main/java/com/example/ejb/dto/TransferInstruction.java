@@ -0,0 +1,14 @@
+package com.example.ejb.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Uma transferência de um lote: benefício de origem, benefício de destino e valor.
+ */
+public record TransferInstruction(
+        Long fromBenefitId,
+        Long toBenefitId,
+        BigDecimal amount
+) implements Serializable {
+}
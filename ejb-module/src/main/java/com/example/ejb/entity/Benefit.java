@@ -7,6 +7,7 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "BENEFIT")
+@Cacheable
 public class Benefit implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,31 @@
+package com.example.ejb.exception;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exception lançada quando o benefício está bloqueado ou foi alterado por outra transação
+ * e a estratégia de lock escolhida não aguarda.
+ *
+ * @author Sistema de Benefícios
+ */
+public class BenefitLockedException extends BeneficioException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Long> benefitIds;
+
+    public BenefitLockedException(Long benefitId) {
+        super("Benefício em uso por outra transação: " + benefitId);
+        this.benefitIds = benefitId != null ? List.of(benefitId) : List.of();
+    }
+
+    public BenefitLockedException(Collection<Long> benefitIds) {
+        super("Benefícios em uso por outra transação: " + benefitIds);
+        this.benefitIds = List.copyOf(benefitIds);
+    }
+
+    public List<Long> getBenefitIds() {
+        return benefitIds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ejb.exception;
+
+/**
+ * Exception lançada quando o limite de transferências assíncronas em andamento foi atingido
+ * e a nova transferência é recusada sem entrar na fila.
+ *
+ * @author Sistema de Benefícios
+ */
+public class TransferOverloadedException extends BeneficioException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int limit;
+
+    public TransferOverloadedException(int limit) {
+        super("Limite de transferências em andamento atingido: " + limit);
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ejb.lock;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * H2 dialect that renders {@code NOWAIT} and {@code SKIP LOCKED}.
+ *
+ * <p>H2 2.x accepts both clauses, but Hibernate's {@link H2Dialect} does not declare them and
+ * falls back to a plain {@code FOR UPDATE}, which would make every pessimistic strategy block.
+ * Configured as {@code hibernate.dialect} of {@code beneficioPU}, so {@link LockStrategy#NOWAIT} and
+ * {@link LockStrategy#SKIP_LOCKED} behave the same deployed and in the tests.
+ */
+public class H2LockingDialect extends H2Dialect {
+
+    @Override
+    public boolean supportsNoWait() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String getForUpdateNowaitString() {
+        return " for update nowait";
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString() {
+        return " for update skip locked";
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ejb.lock;
+
+import jakarta.persistence.LockModeType;
+
+import java.util.Map;
+
+/**
+ * How {@code BenefitEjbService} locks the benefit rows of a transfer.
+ *
+ * <p>The timeout hint follows Hibernate's conventions for {@code jakarta.persistence.lock.timeout}:
+ * {@code 0} renders {@code FOR UPDATE NOWAIT} and {@code -2} renders {@code FOR UPDATE SKIP LOCKED}.
+ */
+public enum LockStrategy {
+
+    /**
+     * {@code FOR UPDATE}, waiting up to the persistence unit's {@code jakarta.persistence.lock.timeout}.
+     */
+    PESSIMISTIC(LockModeType.PESSIMISTIC_WRITE, Map.of()),
+
+    /**
+     * {@code FOR UPDATE NOWAIT}: fails immediately when a row is already locked.
+     */
+    NOWAIT(LockModeType.PESSIMISTIC_WRITE, Map.of(LockStrategy.LOCK_TIMEOUT_HINT, 0)),
+
+    /**
+     * {@code FOR UPDATE SKIP LOCKED}: rows held by other transactions are left out. Batches defer the
+     * transfers that touch them instead of waiting.
+     */
+    SKIP_LOCKED(LockModeType.PESSIMISTIC_WRITE, Map.of(LockStrategy.LOCK_TIMEOUT_HINT, -2)),
+
+    /**
+     * No row lock; the {@code @Version} check at flush rejects concurrent updates.
+     */
+    OPTIMISTIC(LockModeType.OPTIMISTIC, Map.of());
+
+    public static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    private final LockModeType lockMode;
+    private final Map<String, Object> hints;
+
+    LockStrategy(LockModeType lockMode, Map<String, Object> hints) {
+        this.lockMode = lockMode;
+        this.hints = hints;
+    }
+
+    public LockModeType getLockMode() {
+        return lockMode;
+    }
+
+    public Map<String, Object> getHints() {
+        return hints;
+    }
+}
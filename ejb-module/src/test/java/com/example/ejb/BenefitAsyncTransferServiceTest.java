@@ -0,0 +1,96 @@
+package com.example.ejb;
+
+import com.example.ejb.dto.TransferInstruction;
+import com.example.ejb.exception.SaldoInsuficienteException;
+import com.example.ejb.exception.TransferOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class BenefitAsyncTransferServiceTest {
+
+    @Mock
+    private BenefitEjbService benefitEjbService;
+
+    private ExecutorService executor;
+    private BenefitAsyncTransferService asyncTransferService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        executor = Executors.newFixedThreadPool(4);
+        asyncTransferService = new BenefitAsyncTransferService();
+        set("benefitEjbService", benefitEjbService);
+        set("executor", executor);
+        set("maxConcurrency", 1);
+        set("queueCapacity", 1);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenRunningAndQueuedLimitIsReached() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(benefitEjbService).transfer(eq(1L), eq(2L), any());
+
+        var first = asyncTransferService.transferAsync(transfer(1L, 2L)).toCompletableFuture();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var second = asyncTransferService.transferAsync(transfer(1L, 2L)).toCompletableFuture();
+        var third = asyncTransferService.transferAsync(transfer(1L, 2L)).toCompletableFuture();
+
+        var rejected = assertThrows(CompletionException.class, third::join);
+        assertInstanceOf(TransferOverloadedException.class, rejected.getCause());
+        assertFalse(second.isDone());
+
+        release.countDown();
+        assertEquals(transfer(1L, 2L), first.get(5, TimeUnit.SECONDS));
+        assertEquals(transfer(1L, 2L), second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, asyncTransferService.getInFlight());
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWithTransferFailure() throws Exception {
+        doThrow(new SaldoInsuficienteException(BigDecimal.ONE, BigDecimal.TEN))
+                .when(benefitEjbService).transfer(eq(1L), eq(2L), any());
+
+        var result = asyncTransferService.transferAsync(transfer(1L, 2L)).toCompletableFuture();
+
+        var failure = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(SaldoInsuficienteException.class, failure.getCause());
+        assertEquals(0, asyncTransferService.getInFlight());
+    }
+
+    private static TransferInstruction transfer(Long from, Long to) {
+        return new TransferInstruction(from, to, BigDecimal.TEN);
+    }
+
+    private void set(String field, Object value) throws ReflectiveOperationException {
+        var declared = BenefitAsyncTransferService.class.getDeclaredField(field);
+        declared.setAccessible(true);
+        declared.set(asyncTransferService, value);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.ejb;
+
+import com.example.ejb.dto.TransferInstruction;
+import com.example.ejb.entity.Benefit;
+import com.example.ejb.exception.BeneficioException;
+import com.example.ejb.exception.BeneficioInativoException;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import com.example.ejb.exception.SaldoInsuficienteException;
+import com.example.ejb.lock.LockStrategy;
+import jakarta.ejb.ApplicationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BenefitEjbServiceBatchTest {
+
+    private static EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        entityManagerFactory = TestPersistence.createEntityManagerFactory(Map.of(
+                "hibernate.show_sql", "false",
+                "hibernate.use_sql_comments", "false",
+                "hibernate.session_factory.statement_inspector", RecordingInspector.class.getName(),
+                "jakarta.persistence.lock.timeout", "5000"
+        ));
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactory.close();
+    }
+
+    @BeforeEach
+    void createBenefits() throws BeneficioException {
+        inTransaction(entityManager -> {
+            entityManager.createQuery("DELETE FROM Benefit").executeUpdate();
+            for (int i = 0; i < 4; i++) {
+                var benefit = new Benefit("Benefit " + i, "Batch", new BigDecimal("100.00"));
+                entityManager.persist(benefit);
+                ids.add(benefit.getId());
+            }
+            return null;
+        });
+        RecordingInspector.statements.clear();
+    }
+
+    @Test
+    void shouldLockEveryBenefitWithOneQueryInIdOrder() throws BeneficioException {
+        inTransaction(entityManager -> service(entityManager).transferBatch(List.of(
+                transfer(3, 0, "10.00"),
+                transfer(2, 1, "5.00"),
+                transfer(1, 3, "1.00"))));
+
+        var selects = RecordingInspector.statements.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("select"))
+                .toList();
+        assertEquals(1, selects.size());
+        assertTrue(selects.get(0).toLowerCase().matches("(?s).* order by \\w+\\.id for update.*"),
+                selects.get(0));
+
+        assertBalances("110.00", "104.00", "95.00", "91.00");
+    }
+
+    @Test
+    void shouldNotDeadlockOnOpposingBatches() throws Exception {
+        var forward = List.of(transfer(0, 1, "1.00"), transfer(2, 3, "1.00"));
+        var backward = List.of(transfer(3, 2, "1.00"), transfer(1, 0, "1.00"));
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+
+        var runs = new ArrayList<Future<?>>();
+        for (var batch : List.of(forward, backward)) {
+            runs.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    inTransaction(entityManager -> service(entityManager).transferBatch(batch));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var run : runs) {
+            run.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertBalances("100.00", "100.00", "100.00", "100.00");
+    }
+
+    @Test
+    void shouldRollBackWholeBatchWhenOneTransferFails() throws BeneficioException {
+        assertThrows(SaldoInsuficienteException.class, () ->
+                inTransaction(entityManager -> service(entityManager).transferBatch(List.of(
+                        transfer(0, 1, "50.00"),
+                        transfer(2, 3, "500.00")))));
+
+        assertTrue(BeneficioException.class.getAnnotation(ApplicationException.class).rollback());
+        assertBalances("100.00", "100.00", "100.00", "100.00");
+    }
+
+    @Test
+    void shouldRejectBatchWithMissingBenefit() throws BeneficioException {
+        var missingId = ids.get(3) + 100;
+
+        var error = assertThrows(BeneficioNaoEncontradoException.class, () ->
+                inTransaction(entityManager -> service(entityManager).transferBatch(List.of(
+                        transfer(0, 1, "10.00"),
+                        new TransferInstruction(ids.get(2), missingId, BigDecimal.ONE)))));
+
+        assertTrue(error.getMessage().contains(String.valueOf(missingId)), error.getMessage());
+        assertBalances("100.00", "100.00", "100.00", "100.00");
+    }
+
+    @Test
+    void shouldRejectBatchWithInactiveBenefit() throws BeneficioException {
+        inTransaction(entityManager -> {
+            entityManager.find(Benefit.class, ids.get(3)).setActive(false);
+            return null;
+        });
+
+        assertThrows(BeneficioInativoException.class, () ->
+                inTransaction(entityManager -> service(entityManager).transferBatch(List.of(
+                        transfer(0, 1, "10.00"),
+                        transfer(2, 3, "10.00")))));
+
+        assertBalances("100.00", "100.00", "100.00", "100.00");
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        var service = service(entityManagerFactory.createEntityManager());
+
+        assertThrows(IllegalArgumentException.class, () -> service.transferBatch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.transferBatch(null));
+        assertTrue(RecordingInspector.statements.isEmpty());
+    }
+
+    @Test
+    void shouldDeferTransfersTouchingRowsLockedByAnotherTransaction() throws BeneficioException {
+        var holder = entityManagerFactory.createEntityManager();
+        holder.getTransaction().begin();
+        holder.find(Benefit.class, ids.get(1), LockModeType.PESSIMISTIC_WRITE);
+        List<TransferInstruction> deferred;
+        try {
+            deferred = inTransaction(entityManager -> service(entityManager, "SKIP_LOCKED").transferBatch(List.of(
+                    transfer(0, 1, "10.00"),
+                    transfer(2, 3, "10.00"))));
+        } finally {
+            holder.getTransaction().rollback();
+            holder.close();
+        }
+
+        assertEquals(List.of(transfer(0, 1, "10.00")), deferred);
+        assertBalances("100.00", "100.00", "90.00", "110.00");
+    }
+
+    @Test
+    void shouldRejectUnknownLockStrategyAtStartup() {
+        var error = assertThrows(IllegalStateException.class,
+                () -> service(entityManagerFactory.createEntityManager(), "SKIPLOCKED"));
+
+        assertTrue(error.getMessage().contains("SKIPLOCKED"), error.getMessage());
+    }
+
+    private TransferInstruction transfer(int from, int to, String amount) {
+        return new TransferInstruction(ids.get(from), ids.get(to), new BigDecimal(amount));
+    }
+
+    private void assertBalances(String... expected) throws BeneficioException {
+        var balances = inTransaction(entityManager -> ids.stream()
+                .map(id -> entityManager.find(Benefit.class, id).getValue())
+                .toList());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(0, new BigDecimal(expected[i]).compareTo(balances.get(i)), "benefit " + i);
+        }
+    }
+
+    /**
+     * Runs {@code work} in its own transaction and rolls it back on any exception, as the container
+     * does for {@link BeneficioException} ({@code @ApplicationException(rollback = true)}).
+     */
+    private static <T> T inTransaction(Work<T> work) throws BeneficioException {
+        var entityManager = entityManagerFactory.createEntityManager();
+        var transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            var result = work.apply(entityManager);
+            transaction.commit();
+            return result;
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private static BenefitEjbService service(EntityManager entityManager) {
+        return service(entityManager, LockStrategy.PESSIMISTIC.name());
+    }
+
+    /**
+     * Injects the entity manager and the {@code lockStrategy} env-entry, then runs the
+     * {@code @PostConstruct} callback as the container would.
+     */
+    private static BenefitEjbService service(EntityManager entityManager, String lockStrategy) {
+        try {
+            var service = new BenefitEjbService();
+            var field = BenefitEjbService.class.getDeclaredField("entityManager");
+            field.setAccessible(true);
+            field.set(service, entityManager);
+            var strategy = BenefitEjbService.class.getDeclaredField("lockStrategy");
+            strategy.setAccessible(true);
+            strategy.set(service, lockStrategy);
+            service.resolveLockStrategy();
+            return service;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work<T> {
+        T apply(EntityManager entityManager) throws BeneficioException;
+    }
+
+    /**
+     * Records the SQL sent by Hibernate, to check how the batch locks its rows.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
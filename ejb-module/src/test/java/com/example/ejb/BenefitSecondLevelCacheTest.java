@@ -0,0 +1,108 @@
+package com.example.ejb;
+
+import com.example.ejb.entity.Benefit;
+import com.example.ejb.exception.BeneficioException;
+import com.example.ejb.lock.LockStrategy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BenefitSecondLevelCacheTest {
+
+    private static final String REGION = Benefit.class.getName();
+
+    private static EntityManagerFactory entityManagerFactory;
+    private static Statistics statistics;
+
+    private Long originId;
+    private Long destinationId;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        entityManagerFactory = TestPersistence.createEntityManagerFactory();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactory.close();
+    }
+
+    @BeforeEach
+    void createBenefits() {
+        originId = inTransaction(entityManager -> persist(entityManager, "Origin", "100.00"));
+        destinationId = inTransaction(entityManager -> persist(entityManager, "Destination", "50.00"));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedFindsFromSecondLevelCache() {
+        inTransaction(entityManager -> entityManager.find(Benefit.class, originId));
+        inTransaction(entityManager -> entityManager.find(Benefit.class, originId));
+
+        var region = statistics.getDomainDataRegionStatistics(REGION);
+        assertEquals(1, region.getMissCount());
+        assertEquals(1, region.getHitCount());
+    }
+
+    @Test
+    void shouldServeCommittedBalancesAfterTransfer() {
+        inTransaction(entityManager -> {
+            try {
+                service(entityManager).transfer(originId, destinationId, BigDecimal.TEN, LockStrategy.OPTIMISTIC);
+            } catch (BeneficioException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+        statistics.clear();
+
+        var loaded = inTransaction(entityManager -> entityManager.find(Benefit.class, originId));
+        var cached = inTransaction(entityManager -> entityManager.find(Benefit.class, originId));
+
+        assertEquals(0, new BigDecimal("90.00").compareTo(loaded.getValue()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(cached.getValue()));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(REGION).getHitCount());
+    }
+
+    private static Long persist(EntityManager entityManager, String name, String value) {
+        var benefit = new Benefit(name, "Cache", new BigDecimal(value));
+        entityManager.persist(benefit);
+        return benefit.getId();
+    }
+
+    private static <T> T inTransaction(Function<EntityManager, T> work) {
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            var result = work.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static BenefitEjbService service(EntityManager entityManager) {
+        try {
+            var service = new BenefitEjbService();
+            var field = BenefitEjbService.class.getDeclaredField("entityManager");
+            field.setAccessible(true);
+            field.set(service, entityManager);
+            return service;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
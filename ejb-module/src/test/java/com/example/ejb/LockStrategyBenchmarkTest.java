@@ -0,0 +1,192 @@
+package com.example.ejb;
+
+import com.example.ejb.entity.Benefit;
+import com.example.ejb.exception.BeneficioException;
+import com.example.ejb.exception.BenefitLockedException;
+import com.example.ejb.lock.LockStrategy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contention benchmark for each {@link LockStrategy} on H2.
+ *
+ * <p>{@value #THREADS} threads run {@value #TRANSFERS_PER_THREAD} transfers each between
+ * {@value #BENEFITS} hot benefits, one transaction per transfer, with no retries. Each run logs
+ * committed and rejected transfers, throughput and latency percentiles of the committed ones,
+ * and checks that the total balance is preserved.
+ */
+class LockStrategyBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LockStrategyBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 200;
+    private static final int BENEFITS = 4;
+    private static final BigDecimal INITIAL_VALUE = new BigDecimal("1000000.00");
+
+    private static EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> benefitIds = new ArrayList<>();
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        entityManagerFactory = TestPersistence.createEntityManagerFactory(Map.of(
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false",
+                "hibernate.use_sql_comments", "false"
+        ));
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactory.close();
+    }
+
+    @BeforeEach
+    void createBenefits() {
+        inTransaction(entityManager -> {
+            entityManager.createQuery("DELETE FROM Benefit").executeUpdate();
+            for (int i = 0; i < BENEFITS; i++) {
+                var benefit = new Benefit("Benefit " + i, "Benchmark", INITIAL_VALUE);
+                entityManager.persist(benefit);
+                benefitIds.add(benefit.getId());
+            }
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(LockStrategy.class)
+    void shouldReportThroughputAndLatencyPerStrategy(LockStrategy strategy) throws Exception {
+        var committed = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        var latencies = Collections.synchronizedList(new ArrayList<Long>());
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    var from = benefitIds.get(random.nextInt(BENEFITS));
+                    var to = benefitIds.get((benefitIds.indexOf(from) + 1 + random.nextInt(BENEFITS - 1)) % BENEFITS);
+
+                    var begin = System.nanoTime();
+                    if (transfer(from, to, strategy)) {
+                        latencies.add(System.nanoTime() - begin);
+                        committed.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        var begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        var elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+
+        var sorted = latencies.stream().sorted().toList();
+        logger.info(
+                "{}: committed={} rejected={} throughput={}/s p50={}ms p99={}ms max={}ms",
+                strategy,
+                committed.get(),
+                rejected.get(),
+                Math.round(committed.get() / elapsedSeconds),
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 1.0))
+        );
+
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, committed.get() + rejected.get());
+        assertTrue(committed.get() > 0);
+        assertEquals(0, INITIAL_VALUE.multiply(BigDecimal.valueOf(BENEFITS)).compareTo(totalValue()));
+    }
+
+    private boolean transfer(Long from, Long to, LockStrategy strategy) {
+        var entityManager = entityManagerFactory.createEntityManager();
+        var transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            service(entityManager).transfer(from, to, BigDecimal.ONE, strategy);
+            transaction.commit();
+            return true;
+        } catch (BenefitLockedException | RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            return false;
+        } catch (BeneficioException | ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private BigDecimal totalValue() {
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager
+                    .createQuery("SELECT SUM(b.value) FROM Benefit b", BigDecimal.class)
+                    .getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static BenefitEjbService service(EntityManager entityManager) throws ReflectiveOperationException {
+        var service = new BenefitEjbService();
+        var field = BenefitEjbService.class.getDeclaredField("entityManager");
+        field.setAccessible(true);
+        field.set(service, entityManager);
+        return service;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
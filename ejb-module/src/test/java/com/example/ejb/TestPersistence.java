@@ -0,0 +1,48 @@
+package com.example.ejb;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the deployed {@code beneficioPU} from {@code src/main/resources/META-INF/persistence.xml}.
+ *
+ * <p>Only what the application server provides is replaced: a pool over an in-memory H2 database,
+ * with resource-local transactions, instead of the JTA datasource, and a Caffeine JCache
+ * second-level cache instead of Infinispan. Everything else, the dialect included, is the
+ * production setting.
+ */
+final class TestPersistence {
+
+    private static final String URL = "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE";
+    private static final int MAX_CONNECTIONS = 32;
+
+    private static final Map<String, String> SERVER_PROVIDED = Map.ofEntries(
+            Map.entry("jakarta.persistence.transactionType", "RESOURCE_LOCAL"),
+            Map.entry("hibernate.hbm2ddl.auto", "create-drop"),
+            Map.entry("hibernate.cache.region.factory_class", "jcache"),
+            Map.entry("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+            Map.entry("hibernate.javax.cache.uri", "hibernate-cache.conf"),
+            Map.entry("hibernate.javax.cache.missing_cache_strategy", "create")
+    );
+
+    private TestPersistence() {
+    }
+
+    static EntityManagerFactory createEntityManagerFactory() {
+        return createEntityManagerFactory(Map.of());
+    }
+
+    static EntityManagerFactory createEntityManagerFactory(Map<String, String> overrides) {
+        var dataSource = JdbcConnectionPool.create(URL, "sa", "");
+        dataSource.setMaxConnections(MAX_CONNECTIONS);
+
+        var properties = new HashMap<String, Object>(SERVER_PROVIDED);
+        properties.put("jakarta.persistence.jtaDataSource", dataSource);
+        properties.putAll(overrides);
+        return Persistence.createEntityManagerFactory("beneficioPU", properties);
+    }
+}
@@ -4,4 +4,10 @@ export interface Beneficio {
   description?: string;
   value: number;
   active: boolean;
-}
\ No newline at end of file
+}
+
+export interface BeneficioSugestao {
+  id: number;
+  name: string;
+  active: boolean;
+}
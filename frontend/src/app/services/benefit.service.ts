@@ -1,18 +1,40 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { Beneficio } from '../models/benefit.model';
+import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
+import { Beneficio, BeneficioSugestao } from '../models/benefit.model';
 import { TransferRequest } from '../models/transfer-request.model';
 import { TransferResponse } from '../models/transfer-response.model';
 
 @Injectable({ providedIn: 'root' })
 export class BeneficioService {
   private api = '/api/beneficios';
+  private pageSize = 500;
 
   constructor(private http: HttpClient) {}
 
   findAll(): Observable<Beneficio[]> {
-    return this.http.get<Beneficio[]>(this.api);
+    return this.findPage().pipe(
+      expand((res) => {
+        const cursor = res.headers.get('X-Next-Cursor');
+        return cursor ? this.findPage(cursor) : EMPTY;
+      }),
+      map((res) => res.body ?? []),
+      reduce((all, page) => all.concat(page), [] as Beneficio[])
+    );
+  }
+
+  private findPage(cursor?: string): Observable<HttpResponse<Beneficio[]>> {
+    let params = new HttpParams().set('limit', this.pageSize);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<Beneficio[]>(this.api, { params, observe: 'response' });
+  }
+
+  search(prefix: string, limit = 10, ativos = false): Observable<BeneficioSugestao[]> {
+    const params = new HttpParams().set('prefix', prefix).set('limit', limit).set('ativos', ativos);
+    return this.http.get<BeneficioSugestao[]>(`${this.api}/search`, { params });
   }
 
   findById(id: number): Observable<Beneficio> {